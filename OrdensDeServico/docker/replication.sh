@@ -0,0 +1,3 @@
+#!/bin/bash
+# Libera conexões de replicação para o serviço postgres-replica do docker-compose
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -0,0 +1,113 @@
+package br.ufpb.os.benchmark;
+
+import br.ufpb.os.domain.Tecnico;
+import br.ufpb.os.domain.converters.PerfisConverter;
+import br.ufpb.os.domain.converters.PrioridadeConverter;
+import br.ufpb.os.domain.converters.StatusConverter;
+import br.ufpb.os.domain.enuns.Perfil;
+import br.ufpb.os.domain.enuns.Prioridade;
+import br.ufpb.os.domain.enuns.Status;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Decodificação dos códigos gravados no banco: toEnum de Status, Prioridade e
+ * Perfil, os converters JPA, a máscara de perfis e a leitura de
+ * Pessoa.getPerfis(). Os códigos vêm de um array de Integer, como chegam do JDBC.
+ * statusLinearScan é a busca antiga por values(), como referência da tabela
+ * indexada
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumDecodeBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private Integer[] codes;
+    private int[] masks;
+    private Tecnico pessoa;
+    private final StatusConverter statusConverter = new StatusConverter();
+    private final PrioridadeConverter prioridadeConverter = new PrioridadeConverter();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        codes = new Integer[SIZE];
+        masks = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            codes[i] = i % 3;
+            masks[i] = i % 4;
+        }
+        pessoa = new Tecnico(1, "Alan Turing", "332.040.820-83", "(88) 98888-7777");
+        pessoa.addPerfil(Perfil.ADMIN);
+    }
+
+    private int index() {
+        next = (next + 1) & (SIZE - 1);
+        return next;
+    }
+
+    @Benchmark
+    public Status statusToEnum() {
+        return Status.toEnum(codes[index()]);
+    }
+
+    @Benchmark
+    public Status statusLinearScan() {
+        Integer cod = codes[index()];
+        for (Status x : Status.values()) {
+            if (cod.equals(x.getCod())) {
+                return x;
+            }
+        }
+        throw new IllegalArgumentException("Status inválido!" + cod);
+    }
+
+    @Benchmark
+    public Status statusConverter() {
+        return statusConverter.convertToEntityAttribute(codes[index()]);
+    }
+
+    @Benchmark
+    public Prioridade prioridadeConverter() {
+        return prioridadeConverter.convertToEntityAttribute(codes[index()]);
+    }
+
+    @Benchmark
+    public Prioridade prioridadeToEnum() {
+        return Prioridade.toEnum(codes[index()]);
+    }
+
+    @Benchmark
+    public Perfil perfilToEnum() {
+        return Perfil.toEnum(codes[index()] & 1);
+    }
+
+    @Benchmark
+    public Set<Perfil> perfisFromMask() {
+        return PerfisConverter.fromMask(masks[index()]);
+    }
+
+    @Benchmark
+    public void getPerfis(Blackhole bh) {
+        for (Perfil perfil : pessoa.getPerfis()) {
+            bh.consume(perfil);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package br.ufpb.os.benchmark;
+
+import br.ufpb.os.domain.Cliente;
+import br.ufpb.os.domain.OS;
+import br.ufpb.os.domain.Tecnico;
+import br.ufpb.os.domain.enuns.Prioridade;
+import br.ufpb.os.domain.enuns.Status;
+import br.ufpb.os.dtos.OSDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Custo de new OSDTO(OS), feito por linha na criação, atualização e no lote de
+ * OS. Cada chamada decodifica prioridade e status pelos enums
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OsDtoBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private OS[] entities;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        entities = Fixtures.entities(SIZE);
+    }
+
+    @Benchmark
+    public OSDTO newOsDto() {
+        next = (next + 1) & (SIZE - 1);
+        return new OSDTO(entities[next]);
+    }
+
+    static final class Fixtures {
+
+        private Fixtures() {
+        }
+
+        static OS[] entities(int size) {
+            Tecnico tecnico = new Tecnico(1, "Alan Turing", "332.040.820-83", "(88) 98888-7777");
+            Cliente cliente = new Cliente(2, "Betina Campos", "598.508.200-80", "(88) 98888-6666");
+            Prioridade[] prioridades = Prioridade.values();
+            Status[] status = Status.values();
+
+            OS[] entities = new OS[size];
+            for (int i = 0; i < size; i++) {
+                entities[i] = new OS(i + 1, prioridades[i % prioridades.length], "Troca de fonte do notebook " + i,
+                        status[i % status.length], tecnico, cliente);
+                entities[i].setVersion(0);
+            }
+            return entities;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package br.ufpb.os.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ * Cache local (Caffeine) das buscas por id de Tecnico e Cliente, usadas em toda
+ * escrita de OS. Tamanho máximo e expiração ficam em spring.cache.caffeine.spec
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+	public static final String TECNICOS = "tecnicos";
+	public static final String CLIENTES = "clientes";
+
+}
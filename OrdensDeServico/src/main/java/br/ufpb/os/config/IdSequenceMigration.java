@@ -0,0 +1,84 @@
+package br.ufpb.os.config;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.data.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.ufpb.os.domain.OS;
+import br.ufpb.os.domain.Pessoa;
+
+/*
+ * Posiciona as sequences dos ids de OS e Pessoa depois do maior id já gravado.
+ * Em bancos criados quando o id vinha de IDENTITY as tabelas já têm linhas, mas
+ * as sequences criadas pelo ddl-auto começariam em 1 e os primeiros INSERTs
+ * repetiriam ids.
+ *
+ * Roda a cada subida, antes do EntityManagerFactory, como PerfisMigration. A
+ * sequence nunca volta: blocos de ids já reservados por outra instância em
+ * execução continuam livres
+ */
+@Component
+public class IdSequenceMigration implements InitializingBean {
+
+	private static final Logger LOG = LoggerFactory.getLogger(IdSequenceMigration.class);
+
+	/* Chave do advisory lock, distinta das de SyncService e PerfisMigration */
+	private static final long LOCK_KEY = 0x4F53_5345_5149L;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Override
+	public void afterPropertiesSet() {
+		migrate();
+	}
+
+	public void migrate() {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+		transactionTemplate.executeWithoutResult(status -> {
+			/* Instâncias subindo ao mesmo tempo posicionam as sequences uma de cada vez */
+			jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT pg_advisory_xact_lock(?)) AS l", Long.class,
+					LOCK_KEY);
+			migrate(jdbcTemplate, "os", "os_seq", OS.ID_ALLOCATION_SIZE);
+			migrate(jdbcTemplate, "pessoa", "pessoa_seq", Pessoa.ID_ALLOCATION_SIZE);
+		});
+	}
+
+	/*
+	 * Cria a sequence com o incremento do @SequenceGenerator, se faltar, e a leva
+	 * para depois do maior id da tabela. Sem a tabela (banco novo), o ddl-auto
+	 * cria as duas
+	 */
+	private static void migrate(JdbcTemplate jdbcTemplate, String table, String sequence, int allocationSize) {
+		if (!PerfisMigration.tableExists(jdbcTemplate, table)) {
+			return;
+		}
+
+		jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence + " START WITH 1 INCREMENT BY " + allocationSize);
+		Long value = jdbcTemplate.queryForObject("SELECT setval('" + sequence + "', GREATEST(COALESCE(MAX(id), 0) + 1,"
+				+ " (SELECT last_value FROM " + sequence + "))) FROM " + table, Long.class);
+		LOG.info("IdSequenceMigration - SEQUENCE {} POSICIONADA EM {}", sequence, value);
+	}
+
+	/*
+	 * Faz o EntityManagerFactory depender desta migração, como em PerfisMigration
+	 */
+	@Component
+	static class EntityManagerFactoryDependsOnIdSequenceMigration extends EntityManagerFactoryDependsOnPostProcessor {
+
+		EntityManagerFactoryDependsOnIdSequenceMigration() {
+			super(IdSequenceMigration.class);
+		}
+	}
+
+}
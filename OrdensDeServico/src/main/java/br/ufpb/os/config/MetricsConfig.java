@@ -0,0 +1,112 @@
+package br.ufpb.os.config;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.Repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/*
+ * Métricas além das que o Actuator já registra (http.server.requests por
+ * endpoint, pool do Hikari e, quando ligadas, estatísticas do Hibernate): um
+ * timer por método de repositório, em spring.data.repository.invocations.
+ * Histogramas e exposição ficam em application.properties
+ */
+@Configuration
+public class MetricsConfig {
+
+	public static final String REPOSITORY_INVOCATIONS = "spring.data.repository.invocations";
+
+	/*
+	 * Static para não antecipar a criação desta configuração; o MeterRegistry só é
+	 * resolvido na primeira chamada
+	 */
+	@Bean
+	public static BeanPostProcessor repositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> registry) {
+		return new BeanPostProcessor() {
+
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof Repository && bean instanceof Advised) {
+					Advised proxy = (Advised) bean;
+					proxy.addAdvice(0, new RepositoryTimer(registry, repositoryName(proxy)));
+				}
+				return bean;
+			}
+		};
+	}
+
+	private static String repositoryName(Advised proxy) {
+		for (Class<?> type : proxy.getProxiedInterfaces()) {
+			if (Repository.class.isAssignableFrom(type) && type.getName().startsWith("br.ufpb.os.")) {
+				return type.getSimpleName();
+			}
+		}
+		return "unknown";
+	}
+
+	/*
+	 * Os timers ficam guardados por método (e, nos erros, por exceção): o
+	 * builder com registro no MeterRegistry só roda na primeira chamada de cada um
+	 */
+	private static final class RepositoryTimer implements MethodInterceptor {
+
+		private final ObjectProvider<MeterRegistry> registry;
+		private final String repository;
+		private final ConcurrentMap<Method, Timer> timers = new ConcurrentHashMap<>();
+		private final ConcurrentMap<Method, ConcurrentMap<Class<?>, Timer>> errorTimers = new ConcurrentHashMap<>();
+
+		private RepositoryTimer(ObjectProvider<MeterRegistry> registry, String repository) {
+			this.registry = registry;
+			this.repository = repository;
+		}
+
+		/*
+		 * Métodos que devolvem Stream só medem a abertura da consulta; o consumo fica
+		 * no timer do endpoint
+		 */
+		@Override
+		public Object invoke(MethodInvocation invocation) throws Throwable {
+			MeterRegistry meters = registry.getIfAvailable();
+			if (meters == null) {
+				return invocation.proceed();
+			}
+
+			Method method = invocation.getMethod();
+			long start = System.nanoTime();
+			try {
+				Object result = invocation.proceed();
+				timers.computeIfAbsent(method, m -> timer(meters, m, "SUCCESS", "none"))
+						.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+				return result;
+			} catch (Throwable e) {
+				errorTimers.computeIfAbsent(method, m -> new ConcurrentHashMap<>())
+						.computeIfAbsent(e.getClass(), type -> timer(meters, method, "ERROR", type.getSimpleName()))
+						.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+				throw e;
+			}
+		}
+
+		private Timer timer(MeterRegistry meters, Method method, String state, String exception) {
+			return Timer.builder(REPOSITORY_INVOCATIONS)
+					.description("Chamadas aos repositórios Spring Data")
+					.tag("repository", repository)
+					.tag("method", method.getName())
+					.tag("state", state)
+					.tag("exception", exception)
+					.register(meters);
+		}
+	}
+
+}
@@ -0,0 +1,123 @@
+package br.ufpb.os.config;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.data.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+ * Migra os perfis da antiga tabela PERFIS (um registro por perfil) para a coluna
+ * perfis de Pessoa, em máscara de bits, e remove a tabela. Só roda quando a
+ * tabela ainda existe.
+ *
+ * Roda na criação deste bean, antes do EntityManagerFactory (ver
+ * EntityManagerFactoryDependsOnPerfisMigration), então nenhum serviço lê Pessoa
+ * nem carrega índices em @PostConstruct antes da migração, e o Tomcat só atende
+ * depois dela. Por isso usa JDBC puro, sem o JpaTransactionManager
+ */
+@Component
+public class PerfisMigration implements InitializingBean {
+
+	private static final Logger LOG = LoggerFactory.getLogger(PerfisMigration.class);
+
+	private static final String TABLE = "perfis";
+	private static final String PESSOA = "pessoa";
+	private static final String COLUMN = "perfis";
+
+	/* Chave do advisory lock, distinta da de SyncService */
+	private static final long LOCK_KEY = 0x4F53_5045_5246L;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Override
+	public void afterPropertiesSet() {
+		migrate();
+	}
+
+	public void migrate() {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		if (!tableExists(jdbcTemplate, TABLE)) {
+			return;
+		}
+
+		LOG.info("PerfisMigration - MIGRANDO TABELA PERFIS PARA A COLUNA PESSOA.PERFIS");
+		TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		transactionTemplate.executeWithoutResult(status -> {
+			/* Outra instância subindo ao mesmo tempo espera aqui e encontra a tabela já removida */
+			jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT pg_advisory_xact_lock(?)) AS l", Long.class,
+					LOCK_KEY);
+			if (!tableExists(jdbcTemplate, TABLE)) {
+				return;
+			}
+
+			if (!columnExists(jdbcTemplate, PESSOA, COLUMN)) {
+				jdbcTemplate.execute("ALTER TABLE pessoa ADD COLUMN perfis INTEGER");
+			}
+
+			int rows = jdbcTemplate.update("UPDATE pessoa p SET perfis = (SELECT SUM(DISTINCT CAST(POWER(2, pf.perfis) AS INTEGER))"
+					+ " FROM perfis pf WHERE pf.pessoa_id = p.id) WHERE EXISTS (SELECT 1 FROM perfis pf WHERE pf.pessoa_id = p.id)");
+			Integer expected = jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT pessoa_id) FROM perfis", Integer.class);
+
+			/* Uma exceção desfaz a transação inteira e a tabela antiga continua lá */
+			if (expected == null || rows != expected) {
+				throw new IllegalStateException("PerfisMigration - " + rows + " de " + expected
+						+ " pessoas migradas; tabela perfis mantida");
+			}
+
+			jdbcTemplate.execute("DROP TABLE perfis");
+			LOG.info("PerfisMigration - {} PESSOAS MIGRADAS", rows);
+		});
+	}
+
+	static boolean tableExists(JdbcTemplate jdbcTemplate, String table) {
+		return jdbcTemplate.execute((Connection connection) -> {
+			DatabaseMetaData metaData = connection.getMetaData();
+			return hasTable(metaData, table) || hasTable(metaData, table.toUpperCase());
+		});
+	}
+
+	private static boolean hasTable(DatabaseMetaData metaData, String name) throws SQLException {
+		try (ResultSet tables = metaData.getTables(null, null, name, new String[] { "TABLE" })) {
+			return tables.next();
+		}
+	}
+
+	private static boolean columnExists(JdbcTemplate jdbcTemplate, String table, String column) {
+		return jdbcTemplate.execute((Connection connection) -> {
+			DatabaseMetaData metaData = connection.getMetaData();
+			return hasColumn(metaData, table, column) || hasColumn(metaData, table.toUpperCase(), column.toUpperCase());
+		});
+	}
+
+	private static boolean hasColumn(DatabaseMetaData metaData, String table, String column) throws SQLException {
+		try (ResultSet columns = metaData.getColumns(null, null, table, column)) {
+			return columns.next();
+		}
+	}
+
+	/*
+	 * Faz o EntityManagerFactory depender desta migração, como o Spring Boot faz
+	 * com o Flyway
+	 */
+	@Component
+	static class EntityManagerFactoryDependsOnPerfisMigration extends EntityManagerFactoryDependsOnPostProcessor {
+
+		EntityManagerFactoryDependsOnPerfisMigration() {
+			super(PerfisMigration.class);
+		}
+	}
+
+}
@@ -0,0 +1,70 @@
+package br.ufpb.os.config;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.core.DatabaseClient;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+
+/*
+ * Conexões R2DBC das leituras reativas (OSReactiveRepository). O endereço,
+ * usuário e senha vêm de spring.datasource, trocando o prefixo jdbc: por r2dbc:,
+ * para que cada perfil continue com uma única configuração de banco. O pool é
+ * separado do Hikari e limitado por spring.r2dbc.pool.max-size.
+ *
+ * O pool fica só dentro do DatabaseClient, sem virar um bean ConnectionFactory:
+ * com um no contexto o Spring Boot deixaria de criar o DataSource JDBC e o
+ * JpaTransactionManager. As autoconfigurações de R2DBC estão desligadas em
+ * spring.autoconfigure.exclude pelo mesmo motivo
+ */
+@Configuration
+public class R2dbcConfig {
+
+	@Value("${spring.r2dbc.pool.max-size:10}")
+	private int maxSize;
+
+	private ConnectionPool pool;
+
+	@Bean
+	public DatabaseClient reactiveDatabaseClient(DataSourceProperties properties) {
+		ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(toR2dbcUrl(properties.determineUrl()))
+				.mutate()
+				.option(ConnectionFactoryOptions.USER, properties.determineUsername())
+				.option(ConnectionFactoryOptions.PASSWORD, properties.determinePassword())
+				.build();
+
+		pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+				.maxSize(maxSize)
+				.build());
+		return DatabaseClient.create(pool);
+	}
+
+	@PreDestroy
+	public void dispose() {
+		if (pool != null) {
+			pool.dispose();
+		}
+	}
+
+	/*
+	 * jdbc:postgresql://host:5432/osDB?reWriteBatchedInserts=true vira
+	 * r2dbc:postgresql://host:5432/osDB; os parâmetros do driver JDBC não valem
+	 * para o R2DBC
+	 */
+	static String toR2dbcUrl(String jdbcUrl) {
+		if (jdbcUrl == null || !jdbcUrl.startsWith("jdbc:")) {
+			throw new IllegalStateException("spring.datasource.url não é uma URL JDBC: " + jdbcUrl);
+		}
+		String url = "r2dbc:" + jdbcUrl.substring("jdbc:".length());
+		int query = url.indexOf('?');
+		return query < 0 ? url : url.substring(0, query);
+	}
+
+}
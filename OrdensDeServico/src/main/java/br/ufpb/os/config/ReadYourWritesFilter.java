@@ -0,0 +1,57 @@
+package br.ufpb.os.config;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/*
+ * Leia o que escreveu: requisições que podem gravar (tudo que não é GET, HEAD ou
+ * OPTIONS) usam só o primário, e o cliente (endereço IP) que gravou com sucesso
+ * continua lendo do primário por replica.sticky-window ms, tempo para a réplica
+ * alcançar a escrita. Registrado por ReplicaConfig apenas com réplicas
+ * configuradas
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+	private final Cache<String, Boolean> recentWriters;
+
+	public ReadYourWritesFilter(long stickyWindow, long maxClients) {
+		recentWriters = Caffeine.newBuilder()
+				.maximumSize(maxClients)
+				.expireAfterWrite(Duration.ofMillis(stickyWindow))
+				.build();
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String client = request.getRemoteAddr();
+		boolean write = isWrite(request.getMethod());
+		if (write || recentWriters.getIfPresent(client) != null) {
+			ReplicaRoutingDataSource.pinPrimary();
+		}
+
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			ReplicaRoutingDataSource.unpinPrimary();
+			if (write && response.getStatus() < 400) {
+				recentWriters.put(client, Boolean.TRUE);
+			}
+		}
+	}
+
+	private static boolean isWrite(String method) {
+		return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+	}
+
+}
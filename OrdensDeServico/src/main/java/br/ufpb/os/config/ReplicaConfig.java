@@ -0,0 +1,107 @@
+package br.ufpb.os.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/*
+ * Réplicas de leitura, ligadas só quando replica.urls está definida: o
+ * DataSource do Spring Boot passa a ser o primário de um
+ * ReplicaRoutingDataSource, e cada réplica ganha um pool Hikari com as mesmas
+ * configurações do primário (spring.datasource.hikari.*), usuário e senha de
+ * replica.username/replica.password (por padrão os do primário) e
+ * replica.connection-timeout ms para entregar uma conexão antes de a réplica
+ * sair do rodízio. As leituras R2DBC continuam no primário
+ */
+@Configuration
+@ConditionalOnProperty(name = "replica.urls")
+public class ReplicaConfig {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ReplicaConfig.class);
+
+	private static final long MAX_CLIENTS = 100_000;
+
+	/*
+	 * Static, como em MetricsConfig, para não antecipar a criação desta
+	 * configuração
+	 */
+	@Bean
+	public static BeanPostProcessor replicaRoutingPostProcessor(Environment environment) {
+		return new BeanPostProcessor() {
+
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if ("dataSource".equals(beanName) && bean instanceof HikariDataSource) {
+					return routing((HikariDataSource) bean, Binder.get(environment));
+				}
+				return bean;
+			}
+		};
+	}
+
+	@Bean
+	public ReadYourWritesFilter readYourWritesFilter(Environment environment) {
+		return new ReadYourWritesFilter(environment.getProperty("replica.sticky-window", Long.class, 5000L),
+				MAX_CLIENTS);
+	}
+
+	private static DataSource routing(HikariDataSource primary, Binder binder) {
+		List<String> urls = binder.bind("replica.urls", Bindable.listOf(String.class)).orElse(List.of());
+		String username = binder.bind("replica.username", String.class).orElse(primary.getUsername());
+		String password = binder.bind("replica.password", String.class).orElse(primary.getPassword());
+		long connectionTimeout = binder.bind("replica.connection-timeout", Long.class).orElse(1000L);
+		long healthCheckInterval = binder.bind("replica.health-check-interval", Long.class).orElse(5000L);
+
+		List<HikariDataSource> replicas = new ArrayList<>();
+		for (String url : urls) {
+			HikariConfig config = new HikariConfig();
+			primary.copyStateTo(config);
+			config.setPoolName("replica-" + (replicas.size() + 1));
+			config.setJdbcUrl(url);
+			config.setUsername(username);
+			config.setPassword(password);
+			config.setConnectionTimeout(connectionTimeout);
+			/* Uma réplica fora do ar não impede a aplicação de subir */
+			config.setInitializationFailTimeout(-1);
+			config.setMetricRegistry(null);
+			config.setMetricsTrackerFactory(null);
+			config.setHealthCheckRegistry(null);
+			replicas.add(new HikariDataSource(config));
+		}
+
+		LOG.info("ReplicaConfig - LEITURAS SOMENTE LEITURA EM {} RÉPLICA(S)", replicas.size());
+		return new RoutingDataSourceProxy(new ReplicaRoutingDataSource(primary, replicas, healthCheckInterval));
+	}
+
+	/*
+	 * Adia a escolha da conexão até o primeiro comando e fecha os pools junto com
+	 * a aplicação
+	 */
+	private static final class RoutingDataSourceProxy extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+		private RoutingDataSourceProxy(ReplicaRoutingDataSource target) {
+			super(target);
+		}
+
+		@Override
+		public void close() {
+			((ReplicaRoutingDataSource) obtainTargetDataSource()).close();
+		}
+	}
+
+}
@@ -0,0 +1,208 @@
+package br.ufpb.os.config;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/*
+ * DataSource que envia as transações somente leitura (@Transactional(readOnly =
+ * true)) para as réplicas, em rodízio, e todo o resto para o primário. Réplicas
+ * que falham ao entregar uma conexão, ou na verificação periódica, saem do
+ * rodízio até voltarem a responder; sem réplica disponível a leitura vai para o
+ * primário.
+ *
+ * A thread marcada com pinPrimary (requisições de escrita e clientes que
+ * escreveram há pouco, ver ReadYourWritesFilter) lê sempre do primário, então
+ * quem acabou de gravar não recebe dados atrasados da réplica. A decisão é
+ * tomada quando a conexão é pedida; ReplicaConfig envolve este DataSource em um
+ * LazyConnectionDataSourceProxy para que isso aconteça no primeiro comando da
+ * transação, depois de o Spring marcá-la como somente leitura
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+	private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+	private final DataSource primary;
+	private final List<Replica> replicas = new ArrayList<>();
+	private final AtomicInteger next = new AtomicInteger();
+	private final ScheduledExecutorService healthCheck;
+
+	public ReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas, long healthCheckInterval) {
+		this.primary = primary;
+		for (DataSource replica : replicas) {
+			this.replicas.add(new Replica(replica, this.replicas.size() + 1));
+		}
+
+		healthCheck = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "replica-health");
+			thread.setDaemon(true);
+			return thread;
+		});
+		checkReplicas();
+		healthCheck.scheduleWithFixedDelay(this::checkReplicas, healthCheckInterval, healthCheckInterval,
+				TimeUnit.MILLISECONDS);
+	}
+
+	public static void pinPrimary() {
+		PRIMARY_PINNED.set(Boolean.TRUE);
+	}
+
+	public static void unpinPrimary() {
+		PRIMARY_PINNED.remove();
+	}
+
+	public static boolean isPrimaryPinned() {
+		return PRIMARY_PINNED.get() != null;
+	}
+
+	/*
+	 * Executa action lendo só do primário. Com open-in-view a conexão obtida fica
+	 * com a requisição até o fim, então quem grava durante um GET precisa disto
+	 * antes do primeiro acesso ao banco
+	 */
+	public static <T> T onPrimary(Supplier<T> action) {
+		boolean pinned = isPrimaryPinned();
+		pinPrimary();
+		try {
+			return action.get();
+		} finally {
+			if (!pinned) {
+				unpinPrimary();
+			}
+		}
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !isPrimaryPinned()) {
+			Connection connection = replicaConnection();
+			if (connection != null) {
+				return connection;
+			}
+		}
+		return primary.getConnection();
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return primary.getConnection(username, password);
+	}
+
+	/*
+	 * Próxima réplica disponível no rodízio, ou null se nenhuma entregar conexão
+	 */
+	private Connection replicaConnection() {
+		int size = replicas.size();
+		int start = Math.floorMod(next.getAndIncrement(), size);
+		for (int i = 0; i < size; i++) {
+			Replica replica = replicas.get((start + i) % size);
+			if (!replica.available) {
+				continue;
+			}
+			try {
+				return replica.dataSource.getConnection();
+			} catch (SQLException e) {
+				replica.markDown(e);
+			}
+		}
+		return null;
+	}
+
+	void checkReplicas() {
+		for (Replica replica : replicas) {
+			try (Connection connection = replica.dataSource.getConnection()) {
+				if (connection.isValid(2)) {
+					replica.markUp();
+				} else {
+					replica.markDown(null);
+				}
+			} catch (SQLException e) {
+				replica.markDown(e);
+			} catch (RuntimeException e) {
+				LOG.error("ReplicaRoutingDataSource - ERRO AO VERIFICAR RÉPLICA {}", replica.number, e);
+			}
+		}
+	}
+
+	/*
+	 * Métricas e o health check do Actuator procuram o HikariDataSource do
+	 * primário
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if (iface.isInstance(this)) {
+			return (T) this;
+		}
+		return primary.unwrap(iface);
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance(this) || primary.isWrapperFor(iface);
+	}
+
+	@Override
+	public void close() {
+		healthCheck.shutdownNow();
+		for (Replica replica : replicas) {
+			close(replica.dataSource);
+		}
+		close(primary);
+	}
+
+	private static void close(DataSource dataSource) {
+		if (dataSource instanceof HikariDataSource) {
+			((HikariDataSource) dataSource).close();
+		}
+	}
+
+	/*
+	 * Entra no rodízio na primeira verificação bem-sucedida
+	 */
+	private static final class Replica {
+
+		private final DataSource dataSource;
+		private final int number;
+		private volatile boolean available;
+
+		private Replica(DataSource dataSource, int number) {
+			this.dataSource = dataSource;
+			this.number = number;
+		}
+
+		private void markUp() {
+			if (!available) {
+				available = true;
+				LOG.info("ReplicaRoutingDataSource - RÉPLICA {} DISPONÍVEL", number);
+			}
+		}
+
+		private void markDown(SQLException e) {
+			if (available) {
+				available = false;
+				LOG.warn("ReplicaRoutingDataSource - RÉPLICA {} FORA DO RODÍZIO: {}", number,
+						e == null ? "conexão inválida" : e.getMessage());
+			}
+		}
+	}
+
+}
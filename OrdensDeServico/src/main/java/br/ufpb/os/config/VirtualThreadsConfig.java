@@ -0,0 +1,94 @@
+package br.ufpb.os.config;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/*
+ * Modo opcional com virtual threads (spring.threads.virtual.enabled=true, o mesmo
+ * nome do Spring Boot 3.2): cada requisição do Tomcat e cada tarefa assíncrona
+ * (exportação NDJSON, @Async) roda em uma virtual thread própria, sem o limite
+ * de server.tomcat.threads.max. Quem limita os acessos simultâneos ao banco
+ * passa a ser o pool do Hikari (spring.datasource.hikari.maximum-pool-size).
+ *
+ * O projeto compila para Java 11, então a fábrica é procurada por reflexão; em
+ * JVMs sem virtual threads (anteriores ao 21) a propriedade é ignorada com um
+ * aviso e as threads de plataforma continuam em uso
+ */
+@Configuration
+@Conditional(VirtualThreadsConfig.Enabled.class)
+public class VirtualThreadsConfig {
+
+	public static final String PROPERTY = "spring.threads.virtual.enabled";
+
+	private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+	private static final MethodHandle NEW_EXECUTOR = findExecutorFactory();
+
+	@Bean
+	public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadsProtocolHandlerCustomizer() {
+		LOG.info("VirtualThreadsConfig - REQUISIÇÕES DO TOMCAT EM VIRTUAL THREADS");
+		return protocolHandler -> protocolHandler.setExecutor(newExecutor());
+	}
+
+	/*
+	 * Substitui o ThreadPoolTaskExecutor padrão do Boot, usado pelo MVC assíncrono
+	 * e por @Async
+	 */
+	@Bean(name = { "applicationTaskExecutor", "taskExecutor" })
+	public AsyncTaskExecutor applicationTaskExecutor() {
+		return new TaskExecutorAdapter(newExecutor());
+	}
+
+	private static ExecutorService newExecutor() {
+		try {
+			return (ExecutorService) NEW_EXECUTOR.invoke();
+		} catch (Throwable e) {
+			throw new IllegalStateException("Não foi possível criar o executor de virtual threads", e);
+		}
+	}
+
+	private static MethodHandle findExecutorFactory() {
+		try {
+			MethodHandle factory = MethodHandles.publicLookup().findStatic(Executors.class,
+					"newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+			/* No Java 19 e 20 o método existe, mas só funciona com --enable-preview */
+			((ExecutorService) factory.invoke()).shutdown();
+			return factory;
+		} catch (Throwable e) {
+			return null;
+		}
+	}
+
+	static class Enabled implements Condition {
+
+		@Override
+		public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+			if (!context.getEnvironment().getProperty(PROPERTY, Boolean.class, false)) {
+				return false;
+			}
+			if (NEW_EXECUTOR == null) {
+				LOG.warn("VirtualThreadsConfig - {}=true ignorado: virtual threads exigem Java 21 (JVM atual: {})",
+						PROPERTY, System.getProperty("java.version"));
+				return false;
+			}
+			return true;
+		}
+	}
+
+}
@@ -0,0 +1,60 @@
+package br.ufpb.os.controller;
+
+import java.util.Locale;
+
+/*
+ * Negociação de Content-Encoding pelo cabeçalho Accept-Encoding (RFC 7231,
+ * seção 5.3.4): cada codificação pode vir com um peso q, e q=0 a recusa
+ */
+final class AcceptEncoding {
+
+	private AcceptEncoding() {
+	}
+
+	/*
+	 * true se coding foi aceita com q > 0, por nome ou por "*" quando não listada
+	 * explicitamente
+	 */
+	static boolean accepts(String acceptEncoding, String coding) {
+		if (acceptEncoding == null || acceptEncoding.isBlank()) {
+			return false;
+		}
+
+		Double explicit = null;
+		Double wildcard = null;
+		for (String entry : acceptEncoding.split(",")) {
+			String[] parts = entry.split(";");
+			String name = parts[0].trim().toLowerCase(Locale.ROOT);
+			double q = quality(parts);
+			if (name.equals(coding) || name.equals("x-" + coding)) {
+				explicit = (explicit == null) ? q : Math.max(explicit, q);
+			} else if (name.equals("*")) {
+				wildcard = q;
+			}
+		}
+
+		if (explicit != null) {
+			return explicit > 0;
+		}
+		return wildcard != null && wildcard > 0;
+	}
+
+	/*
+	 * Peso q dos parâmetros da entrada; 1 quando ausente e 0 quando ilegível
+	 */
+	private static double quality(String[] parts) {
+		for (int i = 1; i < parts.length; i++) {
+			String param = parts[i].trim();
+			if (param.length() > 1 && (param.charAt(0) == 'q' || param.charAt(0) == 'Q')
+					&& param.substring(1).trim().startsWith("=")) {
+				try {
+					return Double.parseDouble(param.substring(param.indexOf('=') + 1).trim());
+				} catch (NumberFormatException e) {
+					return 0;
+				}
+			}
+		}
+		return 1;
+	}
+
+}
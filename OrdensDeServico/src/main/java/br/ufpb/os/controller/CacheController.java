@@ -0,0 +1,42 @@
+package br.ufpb.os.controller;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.ufpb.os.dtos.CacheStatsDTO;
+
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping(value = "/caches")
+public class CacheController {
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	/*
+	 * Estatísticas de acerto, falha e remoção de cada cache
+	 */
+	@GetMapping
+	public ResponseEntity<List<CacheStatsDTO>> findAll() {
+		List<CacheStatsDTO> list = cacheManager.getCacheNames().stream()
+				.map(name -> cacheManager.getCache(name))
+				.filter(cache -> cache instanceof CaffeineCache)
+				.map(cache -> {
+					com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = ((CaffeineCache) cache)
+							.getNativeCache();
+					return new CacheStatsDTO(cache.getName(), nativeCache.estimatedSize(), nativeCache.stats());
+				})
+				.collect(Collectors.toList());
+
+		return ResponseEntity.ok().body(list);
+	}
+}
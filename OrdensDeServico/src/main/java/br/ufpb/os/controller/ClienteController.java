@@ -1,5 +1,7 @@
 package br.ufpb.os.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -8,15 +10,21 @@ import javax.validation.Valid;
 
 import br.ufpb.os.domain.Cliente;
 import br.ufpb.os.dtos.ClienteDTO;
+import br.ufpb.os.dtos.ClienteImportResultDTO;
+import br.ufpb.os.dtos.CursorPageDTO;
+import br.ufpb.os.dtos.PessoaSuggestDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 //import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import br.ufpb.os.services.ClienteImportService;
 import br.ufpb.os.services.ClienteService;
+import br.ufpb.os.services.IdempotencyService;
 
 @CrossOrigin(origins = "*")
 @RestController
@@ -28,11 +36,17 @@ public class ClienteController {
 	@Autowired
 	private ClienteService service;
 
+	@Autowired
+	private ClienteImportService importService;
+
+	@Autowired
+	private IdempotencyService idempotencyService;
+
 	@GetMapping(value = "/{id}")
 	public ResponseEntity<ClienteDTO> findById(@PathVariable Integer id) {
 		LOG.info("Controller - BUSCANDO CLIENTE POR ID");
-		ClienteDTO objDTO = new ClienteDTO(service.findById(id));
-		return ResponseEntity.ok().body(objDTO);
+		ClienteDTO obj = service.findDTOById(id);
+		return ResponseEntity.ok().eTag(ETags.of(obj.getVersion())).body(obj);
 	}
 
 	@GetMapping
@@ -44,21 +58,46 @@ public class ClienteController {
 		return ResponseEntity.ok().body(listDTO);
 	}
 
+	@GetMapping(value = "/suggest")
+	public ResponseEntity<List<PessoaSuggestDTO>> suggest(@RequestParam String q,
+			@RequestParam(required = false) Integer limit) {
+		return ResponseEntity.ok().body(service.suggest(q, limit));
+	}
+
+	@GetMapping(params = "limit")
+	public ResponseEntity<CursorPageDTO<ClienteDTO>> findPage(@RequestParam(required = false) String after,
+			@RequestParam Integer limit) {
+		LOG.info("Controller - BUSCANDO PÁGINA DE CLIENTES");
+		CursorPageDTO<ClienteDTO> page = service.findPage(after, limit).map(obj -> new ClienteDTO(obj));
+		return ResponseEntity.ok().body(page);
+	}
+
 	@PostMapping
-	public ResponseEntity<ClienteDTO> create(@Valid @RequestBody ClienteDTO objDTO) {
+	public ResponseEntity<ClienteDTO> create(@Valid @RequestBody ClienteDTO objDTO,
+			@RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
 		LOG.info("Controller - CRIANDO NOVO CLIENTE");
-		Cliente newObj = service.create(objDTO);
+		return idempotencyService.execute("POST /clientes", idempotencyKey, objDTO, () -> {
+			Cliente newObj = service.create(objDTO);
 
-		URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(newObj.getId()).toUri();
+			URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(newObj.getId()).toUri();
+
+			return ResponseEntity.created(uri).build();
+		});
+	}
 
-		return ResponseEntity.created(uri).build();
+	@PostMapping(value = "/import", consumes = "text/csv")
+	public ResponseEntity<ClienteImportResultDTO> importCsv(InputStream body) throws IOException {
+		LOG.info("Controller - IMPORTANDO CLIENTES DE CSV");
+		ClienteImportResultDTO result = importService.importCsv(body);
+		return ResponseEntity.ok().body(result);
 	}
 
 	@PutMapping(value = "/{id}")
-	public ResponseEntity<ClienteDTO> update(@PathVariable Integer id, @Valid @RequestBody ClienteDTO objDTO) {
+	public ResponseEntity<ClienteDTO> update(@PathVariable Integer id, @Valid @RequestBody ClienteDTO objDTO,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 		LOG.info("Controller - ATUALIZANDO CLIENTE");
-		ClienteDTO newObj = new ClienteDTO(service.update(id, objDTO));
-		return ResponseEntity.ok().body(newObj);
+		Cliente newObj = service.update(id, objDTO, ETags.versions(ifMatch));
+		return ResponseEntity.ok().eTag(ETags.of(newObj.getVersion())).body(new ClienteDTO(newObj));
 	}
 
 	@DeleteMapping(value = "/{id}")
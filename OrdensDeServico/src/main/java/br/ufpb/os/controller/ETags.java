@@ -0,0 +1,53 @@
+package br.ufpb.os.controller;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import br.ufpb.os.services.exceptions.InvalidRequestException;
+
+/*
+ * ETags derivados da coluna @Version das entidades: o valor muda a cada
+ * atualização gravada, então serve para If-None-Match (304) e If-Match (412)
+ */
+final class ETags {
+
+	private ETags() {
+	}
+
+	static String of(Integer version) {
+		return "\"" + version + "\"";
+	}
+
+	/*
+	 * Versões aceitas pelo cabeçalho If-Match, que pode listar vários ETags
+	 * separados por vírgula ("3", "4"); null quando ausente ou "*"
+	 */
+	static Set<Integer> versions(String ifMatch) {
+		if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+			return null;
+		}
+
+		Set<Integer> versions = new LinkedHashSet<>();
+		for (String tag : ifMatch.split(",")) {
+			versions.add(version(tag.trim(), ifMatch));
+		}
+		return versions;
+	}
+
+	private static Integer version(String tag, String ifMatch) {
+		String value = tag;
+		if (value.startsWith("W/")) {
+			value = value.substring(2);
+		}
+		if (value.length() > 1 && value.startsWith("\"") && value.endsWith("\"")) {
+			value = value.substring(1, value.length() - 1);
+		}
+
+		try {
+			return Integer.valueOf(value);
+		} catch (NumberFormatException e) {
+			throw new InvalidRequestException("If-Match inválido! " + ifMatch, e);
+		}
+	}
+
+}
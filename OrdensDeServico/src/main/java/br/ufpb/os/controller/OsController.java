@@ -1,48 +1,163 @@
 package br.ufpb.os.controller;
 
+import java.io.IOException;
 import java.net.URI;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 
+import br.ufpb.os.dtos.CursorPageDTO;
+import br.ufpb.os.dtos.OSBatchResultDTO;
 import br.ufpb.os.dtos.OSDTO;
+import br.ufpb.os.dtos.OSFilterDTO;
+import br.ufpb.os.dtos.OSStatsDTO;
+import br.ufpb.os.services.IdempotencyService;
+import br.ufpb.os.services.OsEventService;
+import br.ufpb.os.services.OsSearchService;
 import br.ufpb.os.services.OsService;
+import br.ufpb.os.services.OsStatsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 @CrossOrigin(origins = "*")
 @RestController
 @RequestMapping(value = "/os")
 public class OsController {
 
+	private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+	private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
 	@Autowired
 	private OsService service;
 
+	@Autowired
+	private OsStatsService statsService;
+
+	@Autowired
+	private OsSearchService searchService;
+
+	@Autowired
+	private OsEventService eventService;
+
+	@Autowired
+	private IdempotencyService idempotencyService;
+
+	/*
+	 * Com If-None-Match igual ao ETag atual, o Spring responde 304 sem serializar
+	 * o corpo
+	 */
 	@GetMapping(value = "/{id}")
 	public ResponseEntity<OSDTO> findById(@PathVariable Integer id) {
-		OSDTO obj = new OSDTO(service.findById(id));
-		return ResponseEntity.ok().body(obj);
+		OSDTO obj = service.findDTOById(id);
+		return ResponseEntity.ok().eTag(ETags.of(obj.getVersion())).body(obj);
 	}
 
+	/*
+	 * Lista as OS, com filtros opcionais (OSFilterDTO): status, prioridade,
+	 * tecnico, cliente, dataAberturaDe e dataAberturaAte
+	 */
 	@GetMapping
-	public ResponseEntity<List<OSDTO>> findAll() {
-		List<OSDTO> list = service.findAll().stream().map(obj -> new OSDTO(obj)).collect(Collectors.toList());
+	public ResponseEntity<List<OSDTO>> findAll(OSFilterDTO filter) {
+		List<OSDTO> list = service.findAllDTO(filter);
 		return ResponseEntity.ok().body(list);
 	}
 
+	@GetMapping(params = "limit")
+	public ResponseEntity<CursorPageDTO<OSDTO>> findPage(OSFilterDTO filter,
+			@RequestParam(required = false) String after, @RequestParam Integer limit,
+			@RequestParam(defaultValue = "id") String sort) {
+		CursorPageDTO<OSDTO> page = service.findPage(filter, after, limit, sort);
+		return ResponseEntity.ok().body(page);
+	}
+
+	@GetMapping(value = "/search")
+	public ResponseEntity<CursorPageDTO<OSDTO>> search(@RequestParam String q,
+			@RequestParam(required = false) String after, @RequestParam(required = false) Integer limit) {
+		CursorPageDTO<OSDTO> page = searchService.load(searchService.search(q, after, limit));
+		return ResponseEntity.ok().body(page);
+	}
+
+	@GetMapping(value = "/stats")
+	public ResponseEntity<OSStatsDTO> stats() {
+		return ResponseEntity.ok().body(statsService.snapshot());
+	}
+
+	/*
+	 * Alterações de OS em SSE (eventos created, updated e reset). O navegador
+	 * reenvia o último id recebido em Last-Event-ID ao reconectar. A resposta é
+	 * escrita por OsEventService, sem bloquear threads (ver WriteListener)
+	 */
+	@GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public void events(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+			HttpServletRequest request, HttpServletResponse response) throws IOException {
+		eventService.subscribe(lastEventId, request, response);
+	}
+
+	/*
+	 * Exportação em NDJSON, comprimida com gzip quando o cliente a aceita
+	 */
+	@GetMapping(value = "/export")
+	public ResponseEntity<StreamingResponseBody> export(
+			@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+		boolean gzip = AcceptEncoding.accepts(acceptEncoding, "gzip");
+
+		StreamingResponseBody body = out -> {
+			if (gzip) {
+				GZIPOutputStream gzipOut = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+				service.export(gzipOut);
+				gzipOut.finish();
+			} else {
+				service.export(out);
+			}
+		};
+
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(NDJSON)
+				.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		if (gzip) {
+			response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+		}
+		return response.body(body);
+	}
+
+	/*
+	 * Com Idempotency-Key, uma repetição da mesma requisição recebe a resposta da
+	 * primeira sem criar outra OS
+	 */
 	@PostMapping
-	public ResponseEntity<OSDTO> create(@Valid @RequestBody OSDTO obj) {
-		obj = new OSDTO(service.create(obj));
-		URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(obj.getId()).toUri();
-		return ResponseEntity.created(uri).build();
+	public ResponseEntity<OSDTO> create(@Valid @RequestBody OSDTO obj,
+			@RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+		return idempotencyService.execute("POST /os", idempotencyKey, obj, () -> {
+			OSDTO newObj = new OSDTO(service.create(obj));
+			URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(newObj.getId())
+					.toUri();
+			return ResponseEntity.created(uri).build();
+		});
+	}
+
+	/*
+	 * Os itens chegam como JSON e são lidos um a um por OsService, para que um
+	 * item inválido não recuse o lote inteiro
+	 */
+	@PostMapping(value = "/batch")
+	public ResponseEntity<OSBatchResultDTO> createBatch(@RequestBody List<JsonNode> list) {
+		OSBatchResultDTO result = service.createBatch(list);
+		return ResponseEntity.ok().body(result);
 	}
 
 	@PutMapping
-	public ResponseEntity<OSDTO> update(@Valid @RequestBody OSDTO obj) {
-		obj = new OSDTO(service.update(obj));
-		return ResponseEntity.ok().body(obj);
+	public ResponseEntity<OSDTO> update(@Valid @RequestBody OSDTO obj,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		obj = new OSDTO(service.update(obj, ETags.versions(ifMatch)));
+		return ResponseEntity.ok().eTag(ETags.of(obj.getVersion())).body(obj);
 	}
 }
@@ -0,0 +1,43 @@
+package br.ufpb.os.controller;
+
+import br.ufpb.os.dtos.OSDTO;
+import br.ufpb.os.services.OsReactiveService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+ * Leituras de OS pelo R2DBC. O Spring MVC assina o Flux/Mono e libera a thread
+ * do Tomcat enquanto o banco responde, mas a resposta continua sendo escrita
+ * pela saída bloqueante do Servlet: cada lote da listagem é escrito por uma
+ * thread do applicationTaskExecutor (spring.task.execution.pool.core-size, 8 por
+ * padrão), presa enquanto o cliente não lê. A listagem é enviada uma OS por
+ * linha (application/stream+json) ou como eventos SSE, pedindo a próxima linha
+ * ao R2DBC só depois de escrever a anterior
+ */
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping(value = "/os/reactive")
+public class OsReactiveController {
+
+	@Autowired
+	private OsReactiveService service;
+
+	@GetMapping(value = "/{id}")
+	public Mono<ResponseEntity<OSDTO>> findById(@PathVariable Integer id) {
+		return service.findDTOById(id).map(obj -> ResponseEntity.ok().eTag(ETags.of(obj.getVersion())).body(obj));
+	}
+
+	@GetMapping(produces = { MediaType.APPLICATION_STREAM_JSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE })
+	public Flux<OSDTO> findAll() {
+		return service.findAllDTO();
+	}
+
+}
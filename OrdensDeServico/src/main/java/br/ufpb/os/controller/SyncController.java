@@ -0,0 +1,32 @@
+package br.ufpb.os.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.ufpb.os.dtos.SyncDTO;
+import br.ufpb.os.services.SyncService;
+
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping(value = "/sync")
+public class SyncController {
+
+	@Autowired
+	private SyncService service;
+
+	/*
+	 * Alterações de OS, clientes e técnicos depois do token since. Enquanto
+	 * hasMore for true, o dispositivo chama de novo com o token next
+	 */
+	@GetMapping
+	public ResponseEntity<SyncDTO> changes(@RequestParam(required = false) String since,
+			@RequestParam(required = false) Integer limit) {
+		return ResponseEntity.ok().body(service.changes(since, limit));
+	}
+
+}
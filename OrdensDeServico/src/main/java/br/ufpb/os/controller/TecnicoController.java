@@ -7,15 +7,19 @@ import java.util.stream.Collectors;
 import javax.validation.Valid;
 
 import br.ufpb.os.domain.Tecnico;
+import br.ufpb.os.dtos.CursorPageDTO;
+import br.ufpb.os.dtos.PessoaSuggestDTO;
 import br.ufpb.os.dtos.TecnicoDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 //import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import br.ufpb.os.services.IdempotencyService;
 import br.ufpb.os.services.TecnicoService;
 
 @CrossOrigin(origins = "*")
@@ -28,15 +32,18 @@ public class TecnicoController {
 	@Autowired
 	private TecnicoService service;
 
+	@Autowired
+	private IdempotencyService idempotencyService;
+
 	/*
 	 * Busca pelo ID
 	 */
 	@GetMapping(value = "/{id}")
 	public ResponseEntity<TecnicoDTO> findById(@PathVariable Integer id) {
 		log.info("RESOURCE - BUSCANDO TÉCNICO POR ID");
-		TecnicoDTO objDTO = new TecnicoDTO(service.findById(id));
+		TecnicoDTO obj = service.findDTOById(id);
 		log.info("RESOURCE - RETORNANDO RESPOSTA PARA REQUISIÇÃO");
-		return ResponseEntity.ok().body(objDTO);
+		return ResponseEntity.ok().eTag(ETags.of(obj.getVersion())).body(obj);
 	}
 
 	/*
@@ -53,19 +60,44 @@ public class TecnicoController {
 		return ResponseEntity.ok().body(listDTO);
 	}
 
+	/*
+	 * Lista os Tecnicos por página, a partir do cursor "after"
+	 */
+	/*
+	 * Sugestões de técnicos por prefixo do nome ou parte do telefone
+	 */
+	@GetMapping(value = "/suggest")
+	public ResponseEntity<List<PessoaSuggestDTO>> suggest(@RequestParam String q,
+			@RequestParam(required = false) Integer limit) {
+		return ResponseEntity.ok().body(service.suggest(q, limit));
+	}
+
+	@GetMapping(params = "limit")
+	public ResponseEntity<CursorPageDTO<TecnicoDTO>> findPage(@RequestParam(required = false) String after,
+			@RequestParam Integer limit) {
+		log.info("RESOURCE - BUSCANDO PÁGINA DE TÉCNICOS");
+		CursorPageDTO<TecnicoDTO> page = service.findPage(after, limit).map(obj -> new TecnicoDTO(obj));
+
+		log.info("RESOURCE - RETORNANDO RESPOSTA PARA REQUISIÇÃO");
+		return ResponseEntity.ok().body(page);
+	}
+
 	/*
 	 * Cria um novo Tecnico
 	 */
 //	@PreAuthorize("hasAnyRole('ADMIN')")
 	@PostMapping
-	public ResponseEntity<TecnicoDTO> create(@Valid @RequestBody TecnicoDTO objDTO) {
+	public ResponseEntity<TecnicoDTO> create(@Valid @RequestBody TecnicoDTO objDTO,
+			@RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
 		log.info("RESOURCE - CRIANDO NOVO TÉCNICO");
-		Tecnico newObj = service.create(objDTO);
+		return idempotencyService.execute("POST /tecnicos", idempotencyKey, objDTO, () -> {
+			Tecnico newObj = service.create(objDTO);
 
-		URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(newObj.getId()).toUri();
+			URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(newObj.getId()).toUri();
 
-		log.info("RESOURCE - RETORNANDO RESPOSTA PARA REQUISIÇÃO");
-		return ResponseEntity.created(uri).build();
+			log.info("RESOURCE - RETORNANDO RESPOSTA PARA REQUISIÇÃO");
+			return ResponseEntity.created(uri).build();
+		});
 	}
 
 	/*
@@ -73,11 +105,12 @@ public class TecnicoController {
 	 */
 //	@PreAuthorize("hasAnyRole('ADMIN')")
 	@PutMapping(value = "/{id}")
-	public ResponseEntity<TecnicoDTO> update(@PathVariable Integer id, @Valid @RequestBody TecnicoDTO objDTO) {
+	public ResponseEntity<TecnicoDTO> update(@PathVariable Integer id, @Valid @RequestBody TecnicoDTO objDTO,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 		log.info("RESOURCE - ATUALIZANDO TÉCNICO");
-		TecnicoDTO newObj = new TecnicoDTO(service.update(id, objDTO));
+		Tecnico newObj = service.update(id, objDTO, ETags.versions(ifMatch));
 		log.info("RESOURCE - RETORNANDO RESPOSTA PARA REQUISIÇÃO");
-		return ResponseEntity.ok().body(newObj);
+		return ResponseEntity.ok().eTag(ETags.of(newObj.getVersion())).body(new TecnicoDTO(newObj));
 	}
 
 	/*
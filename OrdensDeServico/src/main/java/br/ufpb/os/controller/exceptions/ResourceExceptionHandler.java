@@ -2,13 +2,19 @@ package br.ufpb.os.controller.exceptions;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import br.ufpb.os.services.exceptions.DataIntegratyViolationException;
+import br.ufpb.os.services.exceptions.IdempotencyKeyReusedException;
+import br.ufpb.os.services.exceptions.InvalidRequestException;
 import br.ufpb.os.services.exceptions.ObjectNotFoundException;
+import br.ufpb.os.services.exceptions.PreconditionFailedException;
+import br.ufpb.os.services.exceptions.SyncTokenExpiredException;
 
 @ControllerAdvice
 public class ResourceExceptionHandler {
@@ -35,6 +41,75 @@ public class ResourceExceptionHandler {
 		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
 	}
 	
+	/*
+	 * Manipulando exceção para If-Match com versão desatualizada
+	 */
+	@ExceptionHandler(PreconditionFailedException.class)
+	public ResponseEntity<StandardError> preconditionFailedException(PreconditionFailedException e) {
+		StandardError error = new StandardError(System.currentTimeMillis(), 
+				HttpStatus.PRECONDITION_FAILED.value(), e.getMessage());
+		
+		return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+	}
+	
+	/*
+	 * Manipulando exceção para token de GET /sync anterior às alterações guardadas
+	 */
+	@ExceptionHandler(SyncTokenExpiredException.class)
+	public ResponseEntity<StandardError> syncTokenExpiredException(SyncTokenExpiredException e) {
+		StandardError error = new StandardError(System.currentTimeMillis(), 
+				HttpStatus.GONE.value(), e.getMessage());
+		
+		return ResponseEntity.status(HttpStatus.GONE).body(error);
+	}
+	
+	/*
+	 * Manipulando exceção para Idempotency-Key repetida com outro corpo
+	 */
+	@ExceptionHandler(IdempotencyKeyReusedException.class)
+	public ResponseEntity<StandardError> idempotencyKeyReusedException(IdempotencyKeyReusedException e) {
+		StandardError error = new StandardError(System.currentTimeMillis(), 
+				HttpStatus.UNPROCESSABLE_ENTITY.value(), e.getMessage());
+		
+		return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(error);
+	}
+	
+	/*
+	 * Manipulando exceção para atualizações concorrentes da mesma entidade (@Version)
+	 */
+	@ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+	public ResponseEntity<StandardError> optimisticLockingFailureException(ObjectOptimisticLockingFailureException e) {
+		StandardError error = new StandardError(System.currentTimeMillis(), 
+				HttpStatus.CONFLICT.value(), "Objeto alterado por outra requisição! Tente novamente");
+		
+		return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+	}
+	
+	/*
+	 * Manipulando exceção para parâmetros inválidos (cursor, ordenação, códigos)
+	 */
+	@ExceptionHandler(InvalidRequestException.class)
+	public ResponseEntity<StandardError> invalidRequestException(InvalidRequestException e) {
+		StandardError error = new StandardError(System.currentTimeMillis(), 
+				HttpStatus.BAD_REQUEST.value(), e.getMessage());
+		
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+	}
+	
+	/*
+	 * Manipulando exceção para corpo JSON ilegível, inclusive códigos de status e
+	 * prioridade inexistentes, rejeitados já na leitura do OSDTO
+	 */
+	@ExceptionHandler(HttpMessageNotReadableException.class)
+	public ResponseEntity<StandardError> httpMessageNotReadableException(HttpMessageNotReadableException e) {
+		Throwable cause = e.getMostSpecificCause();
+		String message = (cause instanceof IllegalArgumentException) ? cause.getMessage() : "Corpo da requisição inválido!";
+		StandardError error = new StandardError(System.currentTimeMillis(), 
+				HttpStatus.BAD_REQUEST.value(), message);
+		
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+	}
+	
 	/*
 	 * Manipulando exceção para campos não preenchidos na criação de um objeto
 	 */
@@ -0,0 +1,103 @@
+package br.ufpb.os.domain;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+/*
+ * Registro de alteração (outbox) gravado na mesma transação da escrita em OS,
+ * Cliente ou Tecnico. O id só ordena as inserções; seq é o token de GET /sync e
+ * é atribuído depois do commit por SyncService, em ordem, então um registro
+ * nunca recebe um seq menor que o de outro já entregue
+ */
+@Entity
+@Table(name = "change_log", indexes = { @Index(name = "idx_change_log_seq", columnList = "seq"),
+		@Index(name = "idx_change_log_created_at", columnList = "createdAt") })
+public class ChangeLog {
+
+	public static final String OS = "os";
+	public static final String CLIENTE = "cliente";
+	public static final String TECNICO = "tecnico";
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "change_log_seq")
+	@SequenceGenerator(name = "change_log_seq", sequenceName = "change_log_seq", allocationSize = 50)
+	private Long id;
+
+	private Long seq;
+
+	private String entity;
+
+	private Integer entityId;
+
+	private boolean deleted;
+
+	private LocalDateTime createdAt;
+
+	public ChangeLog() {
+		super();
+	}
+
+	public ChangeLog(String entity, Integer entityId, boolean deleted) {
+		super();
+		this.entity = entity;
+		this.entityId = entityId;
+		this.deleted = deleted;
+		this.createdAt = LocalDateTime.now();
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Long getSeq() {
+		return seq;
+	}
+
+	public void setSeq(Long seq) {
+		this.seq = seq;
+	}
+
+	public String getEntity() {
+		return entity;
+	}
+
+	public void setEntity(String entity) {
+		this.entity = entity;
+	}
+
+	public Integer getEntityId() {
+		return entityId;
+	}
+
+	public void setEntityId(Integer entityId) {
+		this.entityId = entityId;
+	}
+
+	public boolean isDeleted() {
+		return deleted;
+	}
+
+	public void setDeleted(boolean deleted) {
+		this.deleted = deleted;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(LocalDateTime createdAt) {
+		this.createdAt = createdAt;
+	}
+
+}
@@ -2,22 +2,41 @@ package br.ufpb.os.domain;
 
 import java.time.LocalDateTime;
 
+import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Version;
 
+import br.ufpb.os.domain.converters.PrioridadeConverter;
+import br.ufpb.os.domain.converters.StatusConverter;
 import br.ufpb.os.domain.enuns.Status;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import br.ufpb.os.domain.enuns.Prioridade;
 
 @Entity
+@Table(indexes = { @Index(name = "idx_os_data_abertura_id", columnList = "dataAbertura, id"),
+		@Index(name = "idx_os_prioridade_id", columnList = "prioridade, id"),
+		@Index(name = "idx_os_status_prioridade_data_abertura", columnList = "status, prioridade, dataAbertura"),
+		@Index(name = "idx_os_tecnico_status", columnList = "tecnico_id, status") })
 public class OS {
 
+	public static final int ID_ALLOCATION_SIZE = 50;
+
+	/*
+	 * Sequence com alocação em bloco (pooled): o Hibernate reserva 50 ids por ida ao
+	 * banco e consegue agrupar os INSERTs em lotes JDBC, o que IDENTITY impede
+	 */
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "os_seq")
+	@SequenceGenerator(name = "os_seq", sequenceName = "os_seq", allocationSize = ID_ALLOCATION_SIZE)
 	private Integer id;
 
 	@JsonFormat(pattern = "dd/MM/yyyy HH:mm")
@@ -25,9 +44,23 @@ public class OS {
 
 	@JsonFormat(pattern = "dd/MM/yyyy HH:mm")
 	private LocalDateTime dataFechamento;
-	private Integer prioridade;
+
+	/* Enums guardados direto na entidade; a coluna continua com o código */
+	@Convert(converter = PrioridadeConverter.class)
+	private Prioridade prioridade;
+
 	private String observacoes;
-	private Integer status;
+
+	@Convert(converter = StatusConverter.class)
+	private Status status;
+
+	/*
+	 * Versão para controle otimista de concorrência, exposta como ETag. O default
+	 * preenche as linhas existentes quando a coluna é criada pelo ddl-auto=update
+	 */
+	@Version
+	@Column(columnDefinition = "integer default 0")
+	private Integer version;
 
 	@ManyToOne
 	@JoinColumn(name = "tecnico_id")
@@ -48,9 +81,9 @@ public class OS {
 		super();
 		this.id = id;
 		this.setDataAbertura(LocalDateTime.now());
-		this.prioridade = (prioridade == null) ? 0 : prioridade.getCod();
+		this.prioridade = (prioridade == null) ? Prioridade.BAIXA : prioridade;
 		this.observacoes = observacoes;
-		this.status = (status == null) ? 0 : status.getCod();
+		this.status = (status == null) ? Status.ABERTO : status;
 		this.tecnico = tecnico;
 		this.cliente = cliente;
 	}
@@ -63,6 +96,14 @@ public class OS {
 		this.id = id;
 	}
 
+	public Integer getVersion() {
+		return version;
+	}
+
+	public void setVersion(Integer version) {
+		this.version = version;
+	}
+
 	public LocalDateTime getDataAbertura() {
 		return dataAbertura;
 	}
@@ -80,11 +121,11 @@ public class OS {
 	}
 
 	public Prioridade getPrioridade() {
-		return Prioridade.toEnum(this.prioridade);
+		return prioridade;
 	}
 
 	public void setPrioridade(Prioridade prioridade) {
-		this.prioridade = prioridade.getCod();
+		this.prioridade = prioridade;
 	}
 
 	public String getObservacoes() {
@@ -96,11 +137,11 @@ public class OS {
 	}
 
 	public Status getStatus() {
-		return Status.toEnum(this.status);
+		return status;
 	}
 
 	public void setStatus(Status status) {
-		this.status = status.getCod();
+		this.status = status;
 	}
 
 	public Tecnico getTecnico() {
@@ -1,18 +1,20 @@
 package br.ufpb.os.domain;
 
 import java.io.Serializable;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Set;
-import java.util.stream.Collectors;
 
-import javax.persistence.CollectionTable;
-import javax.persistence.ElementCollection;
+import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
-import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Version;
 
+import br.ufpb.os.domain.converters.PerfisConverter;
 import br.ufpb.os.domain.enuns.Perfil;
 import org.hibernate.validator.constraints.br.CPF;
 
@@ -20,8 +22,15 @@ import org.hibernate.validator.constraints.br.CPF;
 public abstract class Pessoa implements Serializable {
 	private static final long serialVersionUID = 1L;
 
+	public static final int ID_ALLOCATION_SIZE = 50;
+
+	/*
+	 * Sequence com alocação em bloco, como em OS, para que a importação de
+	 * clientes consiga agrupar os INSERTs em lotes JDBC
+	 */
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pessoa_seq")
+	@SequenceGenerator(name = "pessoa_seq", sequenceName = "pessoa_seq", allocationSize = ID_ALLOCATION_SIZE)
 	private Integer id;
 	private String nome;
 
@@ -32,9 +41,20 @@ public abstract class Pessoa implements Serializable {
 //	@JsonIgnore
 //	private String senha;
 
-	@ElementCollection(fetch = FetchType.EAGER)
-	@CollectionTable(name = "PERFIS")
-	private Set<Integer> perfis = new HashSet<>();
+	/*
+	 * Perfis gravados como máscara de bits na própria linha de Pessoa (ver
+	 * PerfisConverter), sem tabela nem consulta extra ao carregar a pessoa
+	 */
+	@Convert(converter = PerfisConverter.class)
+	@Column(name = "perfis")
+	private Set<Perfil> perfis = EnumSet.noneOf(Perfil.class);
+
+	/*
+	 * Versão para controle otimista de concorrência, exposta como ETag (ver OS)
+	 */
+	@Version
+	@Column(columnDefinition = "integer default 0")
+	private Integer version;
 
 	public Pessoa() {
 		super();
@@ -45,7 +65,7 @@ public abstract class Pessoa implements Serializable {
 		super();
 		this.id = id;
 		this.nome = nome;
-		this.cpf = cpf;
+		this.cpf = formatCpf(cpf);
 		this.telefone = telefone;
 //		this.senha = senha;
 		addPerfil(Perfil.CLIENTE);
@@ -59,6 +79,14 @@ public abstract class Pessoa implements Serializable {
 		this.id = id;
 	}
 
+	public Integer getVersion() {
+		return version;
+	}
+
+	public void setVersion(Integer version) {
+		this.version = version;
+	}
+
 	public String getNome() {
 		return nome;
 	}
@@ -72,7 +100,25 @@ public abstract class Pessoa implements Serializable {
 	}
 
 	public void setCpf(String cpf) {
-		this.cpf = cpf;
+		this.cpf = formatCpf(cpf);
+	}
+
+	/*
+	 * Formato único dos CPFs gravados e consultados (000.000.000-00), aceito com
+	 * ou sem pontuação. Valores que não têm 11 dígitos ficam como vieram, para a
+	 * validação @CPF rejeitá-los
+	 */
+	public static String formatCpf(String cpf) {
+		if (cpf == null) {
+			return null;
+		}
+
+		String digits = cpf.replaceAll("\\D", "");
+		if (digits.length() != 11) {
+			return cpf;
+		}
+		return digits.substring(0, 3) + "." + digits.substring(3, 6) + "." + digits.substring(6, 9) + "-"
+				+ digits.substring(9);
 	}
 
 	public String getTelefone() {
@@ -92,11 +138,23 @@ public abstract class Pessoa implements Serializable {
 //	}
 
 	public Set<Perfil> getPerfis() {
-		return perfis.stream().map(x -> Perfil.toEnum(x)).collect(Collectors.toSet());
+		return Collections.unmodifiableSet(perfis);
+	}
+
+	public boolean hasPerfil(Perfil perfil) {
+		return perfis.contains(perfil);
 	}
 
+	/*
+	 * Troca o conjunto em vez de alterá-lo: o Hibernate detecta a mudança de um
+	 * atributo convertido comparando-o com o valor tirado ao carregar, e com uma
+	 * nova instância isso não depende de como ele copia esse valor
+	 */
 	public void addPerfil(Perfil perfil) {
-		perfis.add(perfil.getCod());
+		EnumSet<Perfil> copy = EnumSet.noneOf(Perfil.class);
+		copy.addAll(perfis);
+		copy.add(perfil);
+		perfis = copy;
 	}
 
 	@Override
@@ -0,0 +1,56 @@
+package br.ufpb.os.domain.converters;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+import br.ufpb.os.domain.enuns.Perfil;
+
+/*
+ * Grava o conjunto de perfis de uma Pessoa como máscara de bits em uma única
+ * coluna inteira: o bit (1 << cod) indica a presença de cada Perfil
+ */
+@Converter
+public class PerfisConverter implements AttributeConverter<Set<Perfil>, Integer> {
+
+	private static final Perfil[] PERFIS = Perfil.values();
+
+	@Override
+	public Integer convertToDatabaseColumn(Set<Perfil> perfis) {
+		return toMask(perfis);
+	}
+
+	@Override
+	public Set<Perfil> convertToEntityAttribute(Integer mask) {
+		return fromMask(mask == null ? 0 : mask);
+	}
+
+	public static int toMask(Set<Perfil> perfis) {
+		int mask = 0;
+
+		if (perfis != null) {
+			for (Perfil perfil : perfis) {
+				mask |= bit(perfil);
+			}
+		}
+		return mask;
+	}
+
+	public static EnumSet<Perfil> fromMask(int mask) {
+		EnumSet<Perfil> perfis = EnumSet.noneOf(Perfil.class);
+
+		for (Perfil perfil : PERFIS) {
+			if ((mask & bit(perfil)) != 0) {
+				perfis.add(perfil);
+			}
+		}
+		return perfis;
+	}
+
+	public static int bit(Perfil perfil) {
+		return 1 << perfil.getCod();
+	}
+
+}
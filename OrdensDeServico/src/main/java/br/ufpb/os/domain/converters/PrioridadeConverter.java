@@ -0,0 +1,24 @@
+package br.ufpb.os.domain.converters;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+import br.ufpb.os.domain.enuns.Prioridade;
+
+/*
+ * Grava a Prioridade de uma OS pelo código numérico (ver StatusConverter)
+ */
+@Converter
+public class PrioridadeConverter implements AttributeConverter<Prioridade, Integer> {
+
+	@Override
+	public Integer convertToDatabaseColumn(Prioridade prioridade) {
+		return prioridade == null ? null : prioridade.getCod();
+	}
+
+	@Override
+	public Prioridade convertToEntityAttribute(Integer cod) {
+		return Prioridade.toEnum(cod);
+	}
+
+}
@@ -0,0 +1,25 @@
+package br.ufpb.os.domain.converters;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+import br.ufpb.os.domain.enuns.Status;
+
+/*
+ * Grava o Status de uma OS pelo código numérico, mantendo a coluna inteira que
+ * a tabela já usa
+ */
+@Converter
+public class StatusConverter implements AttributeConverter<Status, Integer> {
+
+	@Override
+	public Integer convertToDatabaseColumn(Status status) {
+		return status == null ? null : status.getCod();
+	}
+
+	@Override
+	public Status convertToEntityAttribute(Integer cod) {
+		return Status.toEnum(cod);
+	}
+
+}
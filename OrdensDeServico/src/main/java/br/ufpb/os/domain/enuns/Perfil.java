@@ -4,15 +4,24 @@ public enum Perfil {
 
 	ADMIN(0, "ROLE_ADMIN"), CLIENTE(1, "ROLE_CLIENTE");
 
-	private Integer cod;
-	private String descricao;
+	private final int cod;
+	private final String descricao;
 
-	private Perfil(Integer cod, String descricao) {
+	/* Tabela indexada pelo código (ver Status) */
+	private static final Perfil[] BY_COD = new Perfil[values().length];
+
+	static {
+		for (Perfil x : values()) {
+			BY_COD[x.cod] = x;
+		}
+	}
+
+	private Perfil(int cod, String descricao) {
 		this.cod = cod;
 		this.descricao = descricao;
 	}
 
-	public Integer getCod() {
+	public int getCod() {
 		return cod;
 	}
 
@@ -26,12 +35,11 @@ public enum Perfil {
 			return null;
 		}
 
-		for (Perfil x : Perfil.values()) {
-			if (cod.equals(x.getCod())) {
-				return x;
-			}
+		int i = cod;
+		if (i >= 0 && i < BY_COD.length) {
+			return BY_COD[i];
 		}
 
-		throw new IllegalArgumentException("Prioridade inválida!" + cod);
+		throw new IllegalArgumentException("Perfil inválido!" + cod);
 	}
 }
@@ -4,15 +4,24 @@ public enum Prioridade {
 
 	BAIXA(0, "BAIXA"), MEDIA(1, "MEDIA"), ALTA(2, "ALTA");
 
-	private Integer cod;
-	private String descricao;
+	private final int cod;
+	private final String descricao;
 
-	private Prioridade(Integer cod, String descricao) {
+	/* Tabela indexada pelo código (ver Status) */
+	private static final Prioridade[] BY_COD = new Prioridade[values().length];
+
+	static {
+		for (Prioridade x : values()) {
+			BY_COD[x.cod] = x;
+		}
+	}
+
+	private Prioridade(int cod, String descricao) {
 		this.cod = cod;
 		this.descricao = descricao;
 	}
 
-	public Integer getCod() {
+	public int getCod() {
 		return cod;
 	}
 
@@ -26,10 +35,9 @@ public enum Prioridade {
 			return null;
 		}
 
-		for (Prioridade x : Prioridade.values()) {
-			if (cod.equals(x.getCod())) {
-				return x;
-			}
+		int i = cod;
+		if (i >= 0 && i < BY_COD.length) {
+			return BY_COD[i];
 		}
 
 		throw new IllegalArgumentException("Prioridade inválida!" + cod);
@@ -4,15 +4,27 @@ public enum Status {
 	
 	ABERTO(0, "ABERTO"), ANDAMENTO(1, "ANDAMENTO"), ENCERRADO(2, "ENCERRADO");
 
-	private Integer cod;
-	private String descricao;
+	private final int cod;
+	private final String descricao;
+
+	/*
+	 * Tabela indexada pelo código: toEnum sem percorrer values(), que aloca um
+	 * array novo a cada chamada
+	 */
+	private static final Status[] BY_COD = new Status[values().length];
+
+	static {
+		for (Status x : values()) {
+			BY_COD[x.cod] = x;
+		}
+	}
 
-	private Status(Integer cod, String descricao) {
+	private Status(int cod, String descricao) {
 		this.cod = cod;
 		this.descricao = descricao;
 	}
 
-	public Integer getCod() {
+	public int getCod() {
 		return cod;
 	}
 
@@ -26,10 +38,9 @@ public enum Status {
 			return null;
 		}
 
-		for (Status x : Status.values()) {
-			if (cod.equals(x.getCod())) {
-				return x;
-			}
+		int i = cod;
+		if (i >= 0 && i < BY_COD.length) {
+			return BY_COD[i];
 		}
 
 		throw new IllegalArgumentException("Status inválido!" + cod);
@@ -0,0 +1,79 @@
+package br.ufpb.os.dtos;
+
+import java.io.Serializable;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+public class CacheStatsDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private String name;
+	private Long size;
+	private Long hitCount;
+	private Long missCount;
+	private Double hitRate;
+	private Long evictionCount;
+
+	public CacheStatsDTO() {
+		super();
+	}
+
+	public CacheStatsDTO(String name, Long size, CacheStats stats) {
+		super();
+		this.name = name;
+		this.size = size;
+		this.hitCount = stats.hitCount();
+		this.missCount = stats.missCount();
+		this.hitRate = stats.hitRate();
+		this.evictionCount = stats.evictionCount();
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public Long getSize() {
+		return size;
+	}
+
+	public void setSize(Long size) {
+		this.size = size;
+	}
+
+	public Long getHitCount() {
+		return hitCount;
+	}
+
+	public void setHitCount(Long hitCount) {
+		this.hitCount = hitCount;
+	}
+
+	public Long getMissCount() {
+		return missCount;
+	}
+
+	public void setMissCount(Long missCount) {
+		this.missCount = missCount;
+	}
+
+	public Double getHitRate() {
+		return hitRate;
+	}
+
+	public void setHitRate(Double hitRate) {
+		this.hitRate = hitRate;
+	}
+
+	public Long getEvictionCount() {
+		return evictionCount;
+	}
+
+	public void setEvictionCount(Long evictionCount) {
+		this.evictionCount = evictionCount;
+	}
+
+}
@@ -6,6 +6,8 @@ import javax.validation.constraints.NotEmpty;
 
 import org.hibernate.validator.constraints.br.CPF;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import br.ufpb.os.domain.Cliente;
 
 public class ClienteDTO implements Serializable {
@@ -23,6 +25,10 @@ public class ClienteDTO implements Serializable {
 	@NotEmpty(message = "O campo TELEFONE é requerido")
 	private String telefone;
 
+	/* Enviada como ETag, fora do corpo JSON */
+	@JsonIgnore
+	private Integer version;
+
 //	@JsonIgnore
 //	@NotEmpty(message = "O campo SENHA é requerido")
 //	private String senha;
@@ -39,6 +45,7 @@ public class ClienteDTO implements Serializable {
 		this.nome = obj.getNome();
 		this.cpf = obj.getCpf();
 		this.telefone = obj.getTelefone();
+		this.version = obj.getVersion();
 //		this.senha = obj.getSenha();
 //		this.perfis = obj.getPerfis().stream().map(x -> x.getCod()).collect(Collectors.toSet());
 	}
@@ -75,6 +82,14 @@ public class ClienteDTO implements Serializable {
 		this.telefone = telefone;
 	}
 
+	public Integer getVersion() {
+		return version;
+	}
+
+	public void setVersion(Integer version) {
+		this.version = version;
+	}
+
 //	public String getSenha() {
 //		return senha;
 //	}
@@ -0,0 +1,47 @@
+package br.ufpb.os.dtos;
+
+import java.io.Serializable;
+
+public class ClienteImportRejectionDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Integer line;
+	private String cpf;
+	private String error;
+
+	public ClienteImportRejectionDTO() {
+		super();
+	}
+
+	public ClienteImportRejectionDTO(Integer line, String cpf, String error) {
+		super();
+		this.line = line;
+		this.cpf = cpf;
+		this.error = error;
+	}
+
+	public Integer getLine() {
+		return line;
+	}
+
+	public void setLine(Integer line) {
+		this.line = line;
+	}
+
+	public String getCpf() {
+		return cpf;
+	}
+
+	public void setCpf(String cpf) {
+		this.cpf = cpf;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public void setError(String error) {
+		this.error = error;
+	}
+
+}
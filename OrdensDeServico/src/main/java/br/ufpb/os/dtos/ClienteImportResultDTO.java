@@ -0,0 +1,72 @@
+package br.ufpb.os.dtos;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ClienteImportResultDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	/*
+	 * Quantidade máxima de linhas rejeitadas detalhadas na resposta; as contagens
+	 * continuam considerando todas
+	 */
+	public static final int MAX_REPORTED_REJECTIONS = 1000;
+
+	private Long read = 0L;
+	private Long imported = 0L;
+	private Long rejected = 0L;
+	private Long elapsedMillis;
+	private Boolean rejectionsTruncated = false;
+	private List<ClienteImportRejectionDTO> rejections = new ArrayList<>();
+
+	public ClienteImportResultDTO() {
+		super();
+	}
+
+	public void addRead(int count) {
+		this.read += count;
+	}
+
+	public void addImported(int count) {
+		this.imported += count;
+	}
+
+	public void addRejected(Integer line, String cpf, String error) {
+		this.rejected++;
+		if (rejections.size() < MAX_REPORTED_REJECTIONS) {
+			rejections.add(new ClienteImportRejectionDTO(line, cpf, error));
+		} else {
+			rejectionsTruncated = true;
+		}
+	}
+
+	public Long getRead() {
+		return read;
+	}
+
+	public Long getImported() {
+		return imported;
+	}
+
+	public Long getRejected() {
+		return rejected;
+	}
+
+	public Long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	public void setElapsedMillis(Long elapsedMillis) {
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	public Boolean getRejectionsTruncated() {
+		return rejectionsTruncated;
+	}
+
+	public List<ClienteImportRejectionDTO> getRejections() {
+		return rejections;
+	}
+
+}
@@ -0,0 +1,115 @@
+package br.ufpb.os.dtos;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import br.ufpb.os.domain.enuns.Prioridade;
+import br.ufpb.os.services.exceptions.InvalidRequestException;
+
+/*
+ * Posição de uma página na listagem por cursor. O token enviado ao cliente é
+ * opaco: ordenação, valor da chave e id do último registro codificados em Base64.
+ */
+public final class Cursor {
+
+	public static final String SORT_ID = "id";
+
+	private static final String SEPARATOR = "|";
+
+	private final String sort;
+	private final String key;
+	private final Integer id;
+
+	public Cursor(String sort, String key, Integer id) {
+		this.sort = sort;
+		this.key = key;
+		this.id = id;
+	}
+
+	public String getSort() {
+		return sort;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public Integer getId() {
+		return id;
+	}
+
+	public LocalDateTime getKeyAsDateTime() {
+		if (key == null) {
+			throw new InvalidRequestException("Cursor inválido! Chave ausente");
+		}
+
+		try {
+			return LocalDateTime.parse(key);
+		} catch (DateTimeParseException e) {
+			throw new InvalidRequestException("Cursor inválido! " + key, e);
+		}
+	}
+
+	public Prioridade getKeyAsPrioridade() {
+		try {
+			return Prioridade.toEnum(getKeyAsInteger());
+		} catch (IllegalArgumentException e) {
+			throw new InvalidRequestException("Cursor inválido! " + key, e);
+		}
+	}
+
+	public Integer getKeyAsInteger() {
+		try {
+			return Integer.valueOf(key);
+		} catch (NumberFormatException e) {
+			throw new InvalidRequestException("Cursor inválido! " + key, e);
+		}
+	}
+
+	public String encode() {
+		String raw = sort + SEPARATOR + (key == null ? "" : key) + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/*
+	 * Decodifica o token recebido em "after"; retorna null na primeira página e
+	 * rejeita cursores gerados para outra ordenação
+	 */
+	public static Cursor decode(String token, String sort) {
+		if (token == null || token.isEmpty()) {
+			return null;
+		}
+
+		Cursor cursor = decode(token);
+		if (!cursor.getSort().equals(sort)) {
+			throw new InvalidRequestException("Cursor não corresponde à ordenação " + sort + "!");
+		}
+		return cursor;
+	}
+
+	public static Cursor decode(String token) {
+		String raw;
+		try {
+			raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			throw new InvalidRequestException("Cursor inválido! " + token, e);
+		}
+
+		int first = raw.indexOf(SEPARATOR);
+		int last = raw.lastIndexOf(SEPARATOR);
+		if (first < 0 || first == last) {
+			throw new InvalidRequestException("Cursor inválido! " + token);
+		}
+
+		String key = raw.substring(first + 1, last);
+		try {
+			return new Cursor(raw.substring(0, first), key.isEmpty() ? null : key,
+					Integer.valueOf(raw.substring(last + 1)));
+		} catch (NumberFormatException e) {
+			throw new InvalidRequestException("Cursor inválido! " + token, e);
+		}
+	}
+
+}
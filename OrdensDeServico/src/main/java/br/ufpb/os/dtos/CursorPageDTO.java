@@ -0,0 +1,70 @@
+package br.ufpb.os.dtos;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class CursorPageDTO<T> implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	public static final int DEFAULT_LIMIT = 50;
+	public static final int MAX_LIMIT = 500;
+
+	private List<T> content;
+	private String next;
+
+	public CursorPageDTO() {
+		super();
+	}
+
+	public CursorPageDTO(List<T> content, String next) {
+		super();
+		this.content = content;
+		this.next = next;
+	}
+
+	/*
+	 * Monta a página a partir de uma consulta que buscou limit + 1 registros: o
+	 * registro excedente só indica que existe uma próxima página
+	 */
+	public static <T> CursorPageDTO<T> of(List<T> rows, int limit, Function<T, String> cursorOf) {
+		if (rows.size() <= limit) {
+			return new CursorPageDTO<>(rows, null);
+		}
+
+		List<T> content = rows.subList(0, limit);
+		return new CursorPageDTO<>(content, cursorOf.apply(content.get(limit - 1)));
+	}
+
+	/*
+	 * Limita o tamanho de página solicitado ao intervalo permitido
+	 */
+	public static int clamp(Integer limit) {
+		if (limit == null || limit < 1) {
+			return DEFAULT_LIMIT;
+		}
+		return Math.min(limit, MAX_LIMIT);
+	}
+
+	public <R> CursorPageDTO<R> map(Function<T, R> mapper) {
+		return new CursorPageDTO<>(content.stream().map(mapper).collect(Collectors.toList()), next);
+	}
+
+	public List<T> getContent() {
+		return content;
+	}
+
+	public void setContent(List<T> content) {
+		this.content = content;
+	}
+
+	public String getNext() {
+		return next;
+	}
+
+	public void setNext(String next) {
+		this.next = next;
+	}
+
+}
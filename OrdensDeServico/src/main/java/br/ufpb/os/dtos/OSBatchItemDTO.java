@@ -0,0 +1,55 @@
+package br.ufpb.os.dtos;
+
+import java.io.Serializable;
+
+public class OSBatchItemDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Integer index;
+	private Integer id;
+	private String error;
+
+	public OSBatchItemDTO() {
+		super();
+	}
+
+	public OSBatchItemDTO(Integer index, Integer id, String error) {
+		super();
+		this.index = index;
+		this.id = id;
+		this.error = error;
+	}
+
+	public static OSBatchItemDTO created(Integer index, Integer id) {
+		return new OSBatchItemDTO(index, id, null);
+	}
+
+	public static OSBatchItemDTO rejected(Integer index, String error) {
+		return new OSBatchItemDTO(index, null, error);
+	}
+
+	public Integer getIndex() {
+		return index;
+	}
+
+	public void setIndex(Integer index) {
+		this.index = index;
+	}
+
+	public Integer getId() {
+		return id;
+	}
+
+	public void setId(Integer id) {
+		this.id = id;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public void setError(String error) {
+		this.error = error;
+	}
+
+}
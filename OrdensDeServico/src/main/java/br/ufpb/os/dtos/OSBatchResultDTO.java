@@ -0,0 +1,58 @@
+package br.ufpb.os.dtos;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class OSBatchResultDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Integer created = 0;
+	private Integer rejected = 0;
+	private Long elapsedMillis;
+	private Double rowsPerSecond;
+	private List<OSBatchItemDTO> results = new ArrayList<>();
+
+	public OSBatchResultDTO() {
+		super();
+	}
+
+	public void addCreated(Integer index, Integer id) {
+		this.results.add(OSBatchItemDTO.created(index, id));
+		this.created++;
+	}
+
+	public void addRejected(Integer index, String error) {
+		this.results.add(OSBatchItemDTO.rejected(index, error));
+		this.rejected++;
+	}
+
+	public Integer getCreated() {
+		return created;
+	}
+
+	public Integer getRejected() {
+		return rejected;
+	}
+
+	public Long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	public void setElapsedMillis(Long elapsedMillis) {
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	public Double getRowsPerSecond() {
+		return rowsPerSecond;
+	}
+
+	public void setRowsPerSecond(Double rowsPerSecond) {
+		this.rowsPerSecond = rowsPerSecond;
+	}
+
+	public List<OSBatchItemDTO> getResults() {
+		return results;
+	}
+
+}
@@ -8,6 +8,7 @@ import javax.validation.constraints.NotEmpty;
 import br.ufpb.os.domain.OS;
 import br.ufpb.os.domain.enuns.Status;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import br.ufpb.os.domain.enuns.Prioridade;
 
 public class OSDTO implements Serializable {
@@ -21,29 +22,52 @@ public class OSDTO implements Serializable {
 	@JsonFormat(pattern = "dd/MM/yyyy HH:mm")
 	private LocalDateTime dataFechamento;
 
-	private Integer prioridade;
+	private Prioridade prioridade;
 	
 	@NotEmpty(message = "O campo OBSERVAÇÕES é requerido")
 	private String observacoes;
-	private Integer status;
+	private Status status;
 	private Integer tecnico;
 	private Integer cliente;
 
+	/* Enviada como ETag, fora do corpo JSON */
+	@JsonIgnore
+	private Integer version;
+
 	public OSDTO() {
 		super();
 
 	}
 
+	/*
+	 * Construtor usado pela projeção de OSRepository: recebe apenas as colunas da
+	 * tabela OS, com técnico e cliente como chaves estrangeiras
+	 */
+	public OSDTO(Integer id, LocalDateTime dataAbertura, LocalDateTime dataFechamento, Prioridade prioridade,
+			String observacoes, Status status, Integer tecnico, Integer cliente, Integer version) {
+		super();
+		this.id = id;
+		this.dataAbertura = dataAbertura;
+		this.dataFechamento = dataFechamento;
+		this.prioridade = prioridade;
+		this.observacoes = observacoes;
+		this.status = status;
+		this.tecnico = tecnico;
+		this.cliente = cliente;
+		this.version = version;
+	}
+
 	public OSDTO(OS obj) {
 		super();
 		this.id = obj.getId();
 		this.dataAbertura = obj.getDataAbertura();
 		this.dataFechamento = obj.getDataFechamento();
-		this.prioridade = obj.getPrioridade().getCod();
+		this.prioridade = obj.getPrioridade();
 		this.observacoes = obj.getObservacoes();
-		this.status = obj.getStatus().getCod();
+		this.status = obj.getStatus();
 		this.tecnico = obj.getTecnico().getId();
 		this.cliente = obj.getCliente().getId();
+		this.version = obj.getVersion();
 	}
 
 	public Integer getId() {
@@ -71,11 +95,12 @@ public class OSDTO implements Serializable {
 	}
 
 	public Prioridade getPrioridade() {
-		return Prioridade.toEnum(this.prioridade);
+		return prioridade;
 	}
 
+	/* O JSON de entrada traz o código; códigos inexistentes falham já aqui */
 	public void setPrioridade(Integer prioridade) {
-		this.prioridade = prioridade;
+		this.prioridade = Prioridade.toEnum(prioridade);
 	}
 
 	public String getObservacoes() {
@@ -87,11 +112,11 @@ public class OSDTO implements Serializable {
 	}
 
 	public Status getStatus() {
-		return Status.toEnum(this.status);
+		return status;
 	}
 
 	public void setStatus(Integer status) {
-		this.status = status;
+		this.status = Status.toEnum(status);
 	}
 
 	public Integer getTecnico() {
@@ -110,4 +135,12 @@ public class OSDTO implements Serializable {
 		this.cliente = cliente;
 	}
 
+	public Integer getVersion() {
+		return version;
+	}
+
+	public void setVersion(Integer version) {
+		this.version = version;
+	}
+
 }
@@ -0,0 +1,54 @@
+package br.ufpb.os.dtos;
+
+import java.io.Serializable;
+
+/*
+ * Alteração de uma OS publicada em GET /os/events: o id vai no campo id do SSE
+ * (e volta em Last-Event-ID), o tipo no campo event e a OS no campo data
+ */
+public class OSEventDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	public static final String CREATED = "created";
+	public static final String UPDATED = "updated";
+
+	private long id;
+	private String type;
+	private OSDTO os;
+
+	public OSEventDTO() {
+		super();
+	}
+
+	public OSEventDTO(long id, String type, OSDTO os) {
+		super();
+		this.id = id;
+		this.type = type;
+		this.os = os;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public void setId(long id) {
+		this.id = id;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public void setType(String type) {
+		this.type = type;
+	}
+
+	public OSDTO getOs() {
+		return os;
+	}
+
+	public void setOs(OSDTO os) {
+		this.os = os;
+	}
+
+}
@@ -0,0 +1,84 @@
+package br.ufpb.os.dtos;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+/*
+ * Filtros opcionais de GET /os, recebidos como parâmetros da query string.
+ * Status e prioridade usam o código do enum; dataAberturaDe e dataAberturaAte
+ * (ISO, ex. 2023-05-01T00:00) limitam a data de abertura, ambos inclusivos
+ */
+public class OSFilterDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Integer status;
+	private Integer prioridade;
+	private Integer tecnico;
+	private Integer cliente;
+
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+	private LocalDateTime dataAberturaDe;
+
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+	private LocalDateTime dataAberturaAte;
+
+	public OSFilterDTO() {
+		super();
+	}
+
+	public boolean isEmpty() {
+		return status == null && prioridade == null && tecnico == null && cliente == null && dataAberturaDe == null
+				&& dataAberturaAte == null;
+	}
+
+	public Integer getStatus() {
+		return status;
+	}
+
+	public void setStatus(Integer status) {
+		this.status = status;
+	}
+
+	public Integer getPrioridade() {
+		return prioridade;
+	}
+
+	public void setPrioridade(Integer prioridade) {
+		this.prioridade = prioridade;
+	}
+
+	public Integer getTecnico() {
+		return tecnico;
+	}
+
+	public void setTecnico(Integer tecnico) {
+		this.tecnico = tecnico;
+	}
+
+	public Integer getCliente() {
+		return cliente;
+	}
+
+	public void setCliente(Integer cliente) {
+		this.cliente = cliente;
+	}
+
+	public LocalDateTime getDataAberturaDe() {
+		return dataAberturaDe;
+	}
+
+	public void setDataAberturaDe(LocalDateTime dataAberturaDe) {
+		this.dataAberturaDe = dataAberturaDe;
+	}
+
+	public LocalDateTime getDataAberturaAte() {
+		return dataAberturaAte;
+	}
+
+	public void setDataAberturaAte(LocalDateTime dataAberturaAte) {
+		this.dataAberturaAte = dataAberturaAte;
+	}
+
+}
@@ -0,0 +1,62 @@
+package br.ufpb.os.dtos;
+
+import java.io.Serializable;
+import java.util.Map;
+
+import br.ufpb.os.domain.enuns.Prioridade;
+import br.ufpb.os.domain.enuns.Status;
+
+public class OSStatsDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Long total;
+	private Map<Status, Long> status;
+	private Map<Prioridade, Long> prioridade;
+	private Map<Integer, Long> tecnico;
+
+	public OSStatsDTO() {
+		super();
+	}
+
+	public OSStatsDTO(Long total, Map<Status, Long> status, Map<Prioridade, Long> prioridade,
+			Map<Integer, Long> tecnico) {
+		super();
+		this.total = total;
+		this.status = status;
+		this.prioridade = prioridade;
+		this.tecnico = tecnico;
+	}
+
+	public Long getTotal() {
+		return total;
+	}
+
+	public void setTotal(Long total) {
+		this.total = total;
+	}
+
+	public Map<Status, Long> getStatus() {
+		return status;
+	}
+
+	public void setStatus(Map<Status, Long> status) {
+		this.status = status;
+	}
+
+	public Map<Prioridade, Long> getPrioridade() {
+		return prioridade;
+	}
+
+	public void setPrioridade(Map<Prioridade, Long> prioridade) {
+		this.prioridade = prioridade;
+	}
+
+	public Map<Integer, Long> getTecnico() {
+		return tecnico;
+	}
+
+	public void setTecnico(Map<Integer, Long> tecnico) {
+		this.tecnico = tecnico;
+	}
+
+}
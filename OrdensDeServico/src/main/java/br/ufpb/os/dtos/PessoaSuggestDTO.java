@@ -0,0 +1,61 @@
+package br.ufpb.os.dtos;
+
+import java.io.Serializable;
+
+/*
+ * Resultado das sugestões de GET /clientes/suggest e GET /tecnicos/suggest,
+ * montado a partir do índice em memória
+ */
+public class PessoaSuggestDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Integer id;
+	private String nome;
+	private String cpf;
+	private String telefone;
+
+	public PessoaSuggestDTO() {
+		super();
+	}
+
+	public PessoaSuggestDTO(Integer id, String nome, String cpf, String telefone) {
+		super();
+		this.id = id;
+		this.nome = nome;
+		this.cpf = cpf;
+		this.telefone = telefone;
+	}
+
+	public Integer getId() {
+		return id;
+	}
+
+	public void setId(Integer id) {
+		this.id = id;
+	}
+
+	public String getNome() {
+		return nome;
+	}
+
+	public void setNome(String nome) {
+		this.nome = nome;
+	}
+
+	public String getCpf() {
+		return cpf;
+	}
+
+	public void setCpf(String cpf) {
+		this.cpf = cpf;
+	}
+
+	public String getTelefone() {
+		return telefone;
+	}
+
+	public void setTelefone(String telefone) {
+		this.telefone = telefone;
+	}
+
+}
@@ -0,0 +1,104 @@
+package br.ufpb.os.dtos;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/*
+ * Resposta de GET /sync: estado atual de cada OS, cliente e técnico alterado
+ * depois do token informado, ids removidos (tombstones) e o token para a próxima
+ * chamada. Listas vazias ficam fora do JSON
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class SyncDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private List<OSDTO> os = new ArrayList<>();
+	private List<ClienteDTO> clientes = new ArrayList<>();
+	private List<TecnicoDTO> tecnicos = new ArrayList<>();
+	private List<Integer> deletedOs = new ArrayList<>();
+	private List<Integer> deletedClientes = new ArrayList<>();
+	private List<Integer> deletedTecnicos = new ArrayList<>();
+
+	@JsonInclude(JsonInclude.Include.ALWAYS)
+	private String next;
+
+	@JsonInclude(JsonInclude.Include.ALWAYS)
+	private boolean hasMore;
+
+	public SyncDTO() {
+		super();
+	}
+
+	public SyncDTO(String next) {
+		super();
+		this.next = next;
+	}
+
+	public List<OSDTO> getOs() {
+		return os;
+	}
+
+	public void setOs(List<OSDTO> os) {
+		this.os = os;
+	}
+
+	public List<ClienteDTO> getClientes() {
+		return clientes;
+	}
+
+	public void setClientes(List<ClienteDTO> clientes) {
+		this.clientes = clientes;
+	}
+
+	public List<TecnicoDTO> getTecnicos() {
+		return tecnicos;
+	}
+
+	public void setTecnicos(List<TecnicoDTO> tecnicos) {
+		this.tecnicos = tecnicos;
+	}
+
+	public List<Integer> getDeletedOs() {
+		return deletedOs;
+	}
+
+	public void setDeletedOs(List<Integer> deletedOs) {
+		this.deletedOs = deletedOs;
+	}
+
+	public List<Integer> getDeletedClientes() {
+		return deletedClientes;
+	}
+
+	public void setDeletedClientes(List<Integer> deletedClientes) {
+		this.deletedClientes = deletedClientes;
+	}
+
+	public List<Integer> getDeletedTecnicos() {
+		return deletedTecnicos;
+	}
+
+	public void setDeletedTecnicos(List<Integer> deletedTecnicos) {
+		this.deletedTecnicos = deletedTecnicos;
+	}
+
+	public String getNext() {
+		return next;
+	}
+
+	public void setNext(String next) {
+		this.next = next;
+	}
+
+	public boolean isHasMore() {
+		return hasMore;
+	}
+
+	public void setHasMore(boolean hasMore) {
+		this.hasMore = hasMore;
+	}
+
+}
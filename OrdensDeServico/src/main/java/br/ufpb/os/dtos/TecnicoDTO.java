@@ -7,6 +7,8 @@ import javax.validation.constraints.NotEmpty;
 import br.ufpb.os.domain.Tecnico;
 import org.hibernate.validator.constraints.br.CPF;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public class TecnicoDTO implements Serializable {
 	private static final long serialVersionUID = 1L;
 
@@ -22,6 +24,10 @@ public class TecnicoDTO implements Serializable {
 	@NotEmpty(message = "O campo TELEFONE é requerido")
 	private String telefone;
 
+	/* Enviada como ETag, fora do corpo JSON */
+	@JsonIgnore
+	private Integer version;
+
 //	@JsonIgnore
 //	@NotEmpty(message = "O campo SENHA é requerido")
 //	private String senha;
@@ -38,6 +44,7 @@ public class TecnicoDTO implements Serializable {
 		this.nome = obj.getNome();
 		this.cpf = obj.getCpf();
 		this.telefone = obj.getTelefone();
+		this.version = obj.getVersion();
 //		this.senha = obj.getSenha();
 //		this.perfis = obj.getPerfis().stream().map(x -> x.getCod()).collect(Collectors.toSet());
 	}
@@ -74,6 +81,14 @@ public class TecnicoDTO implements Serializable {
 		this.telefone = telefone;
 	}
 
+	public Integer getVersion() {
+		return version;
+	}
+
+	public void setVersion(Integer version) {
+		this.version = version;
+	}
+
 //	public String getSenha() {
 //		return senha;
 //	}
@@ -0,0 +1,56 @@
+package br.ufpb.os.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import br.ufpb.os.domain.ChangeLog;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLog, Long> {
+
+	boolean existsBySeqIsNull();
+
+	/*
+	 * Registros já confirmados que ainda não receberam seq, na ordem de inserção
+	 */
+	@Query("SELECT obj FROM ChangeLog obj WHERE obj.seq IS NULL ORDER BY obj.id")
+	List<ChangeLog> findPending(Pageable pageable);
+
+	@Query("SELECT COALESCE(MAX(obj.seq), 0) FROM ChangeLog obj")
+	long findMaxSeq();
+
+	/*
+	 * Menor seq ainda guardado; nulo sem nenhum registro numerado
+	 */
+	@Query("SELECT MIN(obj.seq) FROM ChangeLog obj")
+	Long findMinSeq();
+
+	/*
+	 * Página de alterações depois do token since, em ordem de seq
+	 */
+	@Query("SELECT obj FROM ChangeLog obj WHERE obj.seq > :since ORDER BY obj.seq")
+	List<ChangeLog> findAfter(@Param("since") long since, Pageable pageable);
+
+	/*
+	 * Remove os registros numerados anteriores a cutoff, mantendo sempre o de
+	 * maior seq, de onde a numeração continua
+	 */
+	@Modifying
+	@Query("DELETE FROM ChangeLog obj WHERE obj.seq IS NOT NULL AND obj.createdAt < :cutoff"
+			+ " AND obj.seq < (SELECT MAX(c.seq) FROM ChangeLog c)")
+	int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+
+	/*
+	 * Serializa a atribuição de seq entre instâncias da aplicação até o fim da
+	 * transação
+	 */
+	@Query(value = "SELECT COUNT(*) FROM (SELECT pg_advisory_xact_lock(:key)) AS l", nativeQuery = true)
+	long lock(@Param("key") long key);
+
+}
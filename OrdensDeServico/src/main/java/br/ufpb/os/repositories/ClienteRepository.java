@@ -1,10 +1,28 @@
 package br.ufpb.os.repositories;
 
+import java.util.List;
+
 import br.ufpb.os.domain.Cliente;
+import br.ufpb.os.dtos.PessoaSuggestDTO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ClienteRepository extends JpaRepository<Cliente, Integer> {
 
+	/*
+	 * Dados usados pelo índice de sugestões de ClienteService
+	 */
+	@Query("SELECT new br.ufpb.os.dtos.PessoaSuggestDTO(obj.id, obj.nome, obj.cpf, obj.telefone) FROM Cliente obj")
+	List<PessoaSuggestDTO> findAllSuggest();
+
+	/*
+	 * Página seguinte da listagem por cursor, ordenada pelo id
+	 */
+	@Query("SELECT obj FROM Cliente obj WHERE obj.id > :after ORDER BY obj.id")
+	List<Cliente> findPageAfter(@Param("after") Integer after, Pageable pageable);
+
 }
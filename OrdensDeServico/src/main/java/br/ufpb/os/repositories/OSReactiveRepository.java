@@ -0,0 +1,54 @@
+package br.ufpb.os.repositories;
+
+import java.time.LocalDateTime;
+
+import br.ufpb.os.domain.converters.PrioridadeConverter;
+import br.ufpb.os.domain.converters.StatusConverter;
+import br.ufpb.os.dtos.OSDTO;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+ * Leituras de OS por R2DBC, sem bloquear threads enquanto o PostgreSQL responde.
+ * Seleciona as mesmas colunas da projeção OSDTO de OSRepository e decodifica
+ * status e prioridade pelos converters da entidade OS
+ */
+@Repository
+public class OSReactiveRepository {
+
+	private static final String SELECT_DTO = "SELECT id, data_abertura, data_fechamento, prioridade, observacoes,"
+			+ " status, tecnico_id, cliente_id, version FROM os";
+
+	private static final PrioridadeConverter PRIORIDADES = new PrioridadeConverter();
+	private static final StatusConverter STATUS = new StatusConverter();
+
+	@Autowired
+	private DatabaseClient client;
+
+	public Flux<OSDTO> findAllDTO() {
+		return client.execute(SELECT_DTO + " ORDER BY id")
+				.map((row, metadata) -> toDTO(row))
+				.all();
+	}
+
+	public Mono<OSDTO> findDTOById(Integer id) {
+		return client.execute(SELECT_DTO + " WHERE id = :id")
+				.bind("id", id)
+				.map((row, metadata) -> toDTO(row))
+				.one();
+	}
+
+	private static OSDTO toDTO(Row row) {
+		return new OSDTO(row.get("id", Integer.class), row.get("data_abertura", LocalDateTime.class),
+				row.get("data_fechamento", LocalDateTime.class),
+				PRIORIDADES.convertToEntityAttribute(row.get("prioridade", Integer.class)),
+				row.get("observacoes", String.class),
+				STATUS.convertToEntityAttribute(row.get("status", Integer.class)), row.get("tecnico_id", Integer.class),
+				row.get("cliente_id", Integer.class), row.get("version", Integer.class));
+	}
+
+}
@@ -1,10 +1,71 @@
 package br.ufpb.os.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
 import br.ufpb.os.domain.OS;
+import br.ufpb.os.dtos.OSDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 @Repository
-public interface OSRepository extends JpaRepository<OS, Integer>{
+public interface OSRepository extends JpaRepository<OS, Integer>, OSRepositoryCustom {
+
+	int EXPORT_FETCH_SIZE = 500;
+
+	String SELECT_DTO = "SELECT new br.ufpb.os.dtos.OSDTO(obj.id, obj.dataAbertura, obj.dataFechamento,"
+			+ " obj.prioridade, obj.observacoes, obj.status, obj.tecnico.id, obj.cliente.id, obj.version) FROM OS obj";
+
+	/*
+	 * Projeções para OSDTO: uma única instrução SQL sobre a tabela OS, sem carregar
+	 * Tecnico, Cliente nem PERFIS (obj.tecnico.id usa a própria chave estrangeira)
+	 */
+	@Query(SELECT_DTO + " ORDER BY obj.id")
+	List<OSDTO> findAllDTO();
+
+	@Query(SELECT_DTO + " WHERE obj.id = :id")
+	Optional<OSDTO> findDTOById(@Param("id") Integer id);
+
+	@Query(SELECT_DTO + " WHERE obj.id IN :ids")
+	List<OSDTO> findDTOByIdIn(@Param("ids") Collection<Integer> ids);
+
+	/*
+	 * Leitura forward-only para exportação: com fetch size o driver do PostgreSQL
+	 * usa um cursor no servidor (exige transação aberta) em vez de trazer a tabela
+	 * inteira para a memória. Sendo projeção, nada entra no contexto de
+	 * persistência, nem Tecnico e Cliente
+	 */
+	@QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+			@QueryHint(name = HINT_READONLY, value = "true"), @QueryHint(name = HINT_CACHEABLE, value = "false") })
+	@Query(SELECT_DTO + " ORDER BY obj.id")
+	Stream<OSDTO> streamAllDTO();
+
+	/*
+	 * Pares (id, observacoes) lidos da mesma forma, para montar o índice de busca
+	 * de OsSearchService
+	 */
+	@QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+			@QueryHint(name = HINT_READONLY, value = "true"), @QueryHint(name = HINT_CACHEABLE, value = "false") })
+	@Query("SELECT obj.id, obj.observacoes FROM OS obj ORDER BY obj.id")
+	Stream<Object[]> streamObservacoes();
+
+	/*
+	 * Contagem por (status, prioridade, técnico), usada para carregar os
+	 * contadores de OsStatsService
+	 */
+	@Query("SELECT obj.status, obj.prioridade, obj.tecnico.id, COUNT(obj) FROM OS obj"
+			+ " GROUP BY obj.status, obj.prioridade, obj.tecnico.id")
+	List<Object[]> countGroupByStatusPrioridadeTecnico();
 
 }
@@ -0,0 +1,24 @@
+package br.ufpb.os.repositories;
+
+import java.util.List;
+
+import br.ufpb.os.dtos.Cursor;
+import br.ufpb.os.dtos.OSDTO;
+import br.ufpb.os.dtos.OSFilterDTO;
+
+/*
+ * Consultas de OS montadas dinamicamente com a Criteria API (OSRepositoryImpl)
+ */
+public interface OSRepositoryCustom {
+
+	String SORT_DATA_ABERTURA = "dataAbertura";
+	String SORT_PRIORIDADE = "prioridade";
+
+	/*
+	 * OSDTO que atendem aos filtros, ordenados por sort ("id", "dataAbertura" ou
+	 * "prioridade") e id, a partir do cursor after (null na primeira página).
+	 * Com limit negativo retorna todos os registros
+	 */
+	List<OSDTO> findDTO(OSFilterDTO filter, String sort, Cursor after, int limit);
+
+}
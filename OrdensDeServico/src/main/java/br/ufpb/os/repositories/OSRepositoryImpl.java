@@ -0,0 +1,114 @@
+package br.ufpb.os.repositories;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import br.ufpb.os.domain.OS;
+import br.ufpb.os.domain.enuns.Prioridade;
+import br.ufpb.os.domain.enuns.Status;
+import br.ufpb.os.dtos.Cursor;
+import br.ufpb.os.dtos.OSDTO;
+import br.ufpb.os.dtos.OSFilterDTO;
+import br.ufpb.os.services.exceptions.InvalidRequestException;
+
+/*
+ * Implementação de OSRepositoryCustom. Só os filtros informados entram no WHERE,
+ * então cada combinação gera o SQL mínimo e pode usar os índices compostos de
+ * OS. A projeção é a mesma de OSRepository.SELECT_DTO (uma instrução, sem join)
+ */
+public class OSRepositoryImpl implements OSRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<OSDTO> findDTO(OSFilterDTO filter, String sort, Cursor after, int limit) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<OSDTO> query = cb.createQuery(OSDTO.class);
+		Root<OS> root = query.from(OS.class);
+		Path<Integer> id = root.get("id");
+
+		query.select(cb.construct(OSDTO.class, id, root.get("dataAbertura"), root.get("dataFechamento"),
+				root.get("prioridade"), root.get("observacoes"), root.get("status"), root.get("tecnico").get("id"),
+				root.get("cliente").get("id"), root.get("version")));
+
+		List<Predicate> where = filters(cb, root, filter);
+		switch (sort) {
+		case Cursor.SORT_ID:
+			if (after != null) {
+				where.add(cb.greaterThan(id, after.getId()));
+			}
+			query.orderBy(cb.asc(id));
+			break;
+		case SORT_DATA_ABERTURA:
+			Path<LocalDateTime> dataAbertura = root.get("dataAbertura");
+			if (after != null) {
+				where.add(seek(cb, dataAbertura, after.getKeyAsDateTime(), id, after.getId()));
+			}
+			query.orderBy(cb.asc(dataAbertura), cb.asc(id));
+			break;
+		case SORT_PRIORIDADE:
+			Path<Prioridade> prioridade = root.get("prioridade");
+			if (after != null) {
+				where.add(seek(cb, prioridade, after.getKeyAsPrioridade(), id, after.getId()));
+			}
+			query.orderBy(cb.asc(prioridade), cb.asc(id));
+			break;
+		default:
+			throw new InvalidRequestException("Ordenação inválida! " + sort);
+		}
+		query.where(where.toArray(new Predicate[0]));
+
+		TypedQuery<OSDTO> typed = entityManager.createQuery(query);
+		if (limit >= 0) {
+			typed.setMaxResults(limit);
+		}
+		return typed.getResultList();
+	}
+
+	private static List<Predicate> filters(CriteriaBuilder cb, Root<OS> root, OSFilterDTO filter) {
+		List<Predicate> where = new ArrayList<>();
+		if (filter == null) {
+			return where;
+		}
+
+		if (filter.getStatus() != null) {
+			where.add(cb.equal(root.get("status"), Status.toEnum(filter.getStatus())));
+		}
+		if (filter.getPrioridade() != null) {
+			where.add(cb.equal(root.get("prioridade"), Prioridade.toEnum(filter.getPrioridade())));
+		}
+		if (filter.getTecnico() != null) {
+			where.add(cb.equal(root.get("tecnico").get("id"), filter.getTecnico()));
+		}
+		if (filter.getCliente() != null) {
+			where.add(cb.equal(root.get("cliente").get("id"), filter.getCliente()));
+		}
+		if (filter.getDataAberturaDe() != null) {
+			where.add(cb.greaterThanOrEqualTo(root.get("dataAbertura"), filter.getDataAberturaDe()));
+		}
+		if (filter.getDataAberturaAte() != null) {
+			where.add(cb.lessThanOrEqualTo(root.get("dataAbertura"), filter.getDataAberturaAte()));
+		}
+		return where;
+	}
+
+	/*
+	 * Condição seek (chave, id) > (valor, afterId) da paginação por cursor
+	 */
+	private static <T extends Comparable<? super T>> Predicate seek(CriteriaBuilder cb, Path<T> key, T value,
+			Path<Integer> id, Integer afterId) {
+		return cb.or(cb.greaterThan(key, value), cb.and(cb.equal(key, value), cb.greaterThan(id, afterId)));
+	}
+
+}
@@ -1,5 +1,8 @@
 package br.ufpb.os.repositories;
 
+import java.util.Collection;
+import java.util.List;
+
 import br.ufpb.os.domain.Pessoa;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -11,4 +14,10 @@ public interface PessoaRepository extends JpaRepository<Pessoa, Integer> {
 
 	@Query("SELECT obj FROM Pessoa obj WHERE obj.cpf =:cpf")
 	Pessoa findByCPF(@Param("cpf") String cpf);
+
+	/*
+	 * Retorna, dentre os CPFs informados, os que já estão cadastrados
+	 */
+	@Query("SELECT obj.cpf FROM Pessoa obj WHERE obj.cpf IN :cpfs")
+	List<String> findExistingCPFs(@Param("cpfs") Collection<String> cpfs);
 }
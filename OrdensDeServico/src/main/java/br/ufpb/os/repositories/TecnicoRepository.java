@@ -1,6 +1,10 @@
 package br.ufpb.os.repositories;
 
+import java.util.List;
+
 import br.ufpb.os.domain.Tecnico;
+import br.ufpb.os.dtos.PessoaSuggestDTO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,4 +16,19 @@ public interface TecnicoRepository extends JpaRepository<Tecnico, Integer>{
 	@Query("SELECT obj FROM Tecnico obj WHERE obj.cpf =:cpf")
 	Tecnico findByCPF(@Param("cpf") String cpf);
 
+	@Query("SELECT obj.id FROM Tecnico obj")
+	List<Integer> findAllIds();
+
+	/*
+	 * Dados usados pelo índice de sugestões de TecnicoService
+	 */
+	@Query("SELECT new br.ufpb.os.dtos.PessoaSuggestDTO(obj.id, obj.nome, obj.cpf, obj.telefone) FROM Tecnico obj")
+	List<PessoaSuggestDTO> findAllSuggest();
+
+	/*
+	 * Página seguinte da listagem por cursor, ordenada pelo id
+	 */
+	@Query("SELECT obj FROM Tecnico obj WHERE obj.id > :after ORDER BY obj.id")
+	List<Tecnico> findPageAfter(@Param("after") Integer after, Pageable pageable);
+
 }
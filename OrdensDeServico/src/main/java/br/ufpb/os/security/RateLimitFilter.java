@@ -0,0 +1,223 @@
+package br.ufpb.os.security;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.ufpb.os.controller.exceptions.StandardError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Limite de requisições por cliente (endereço IP). Listagens, que leem tabelas
+ * inteiras ou grandes trechos delas (GET /os, /clientes, /tecnicos, /os/export,
+ * /os/search, /os/stats, /os/reactive e /sync), têm um balde próprio e bem menor
+ * que o das demais requisições, então um cliente que chama GET /os em loop é
+ * barrado sem perder as buscas por id. Sem token, a resposta é 429 com
+ * Retry-After.
+ *
+ * Além do limite por cliente, no máximo rate-limit.listing.max-concurrent
+ * listagens rodam ao mesmo tempo na instância; acima disso a requisição é
+ * descartada com 503 e Retry-After em vez de esperar por uma conexão do pool.
+ * As recusas são contadas em http.server.requests.rejected
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RateLimitFilter.class);
+
+	public static final String REJECTED = "http.server.requests.rejected";
+
+	static final String LISTING = "listing";
+	static final String LOOKUP = "lookup";
+
+	private static final Set<String> LISTINGS = Set.of("/os", "/clientes", "/tecnicos", "/os/export", "/os/search",
+			"/os/stats", "/os/reactive", "/sync");
+
+	@Value("${rate-limit.listing.capacity:20}")
+	private int listingCapacity;
+
+	@Value("${rate-limit.listing.per-second:2}")
+	private double listingPerSecond;
+
+	@Value("${rate-limit.listing.max-concurrent:8}")
+	private int listingMaxConcurrent;
+
+	@Value("${rate-limit.lookup.capacity:200}")
+	private int lookupCapacity;
+
+	@Value("${rate-limit.lookup.per-second:50}")
+	private double lookupPerSecond;
+
+	@Value("${rate-limit.max-clients:100000}")
+	private long maxClients;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private ObjectProvider<MeterRegistry> registry;
+
+	private Cache<String, TokenBucket> buckets;
+	private Semaphore listings;
+
+	@PostConstruct
+	public void init() {
+		/* Um balde cheio é igual a um balde novo, então os parados podem sair */
+		long refill = (long) Math.ceil(Math.max(listingCapacity / listingPerSecond, lookupCapacity / lookupPerSecond));
+		buckets = Caffeine.newBuilder()
+				.maximumSize(maxClients)
+				.expireAfterAccess(Duration.ofSeconds(Math.max(1, refill)))
+				.build();
+		listings = new Semaphore(listingMaxConcurrent);
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String tier = tier(request);
+		long now = System.nanoTime();
+		TokenBucket bucket = buckets.get(tier + " " + request.getRemoteAddr(), key -> LISTING.equals(tier)
+				? new TokenBucket(listingCapacity, listingPerSecond, now)
+				: new TokenBucket(lookupCapacity, lookupPerSecond, now));
+
+		long wait = bucket.tryAcquire(now);
+		if (wait > 0) {
+			reject(response, tier, "rate_limit", HttpStatus.TOO_MANY_REQUESTS, wait,
+					"Limite de requisições excedido, tente novamente mais tarde");
+			return;
+		}
+
+		if (!LISTING.equals(tier)) {
+			chain.doFilter(request, response);
+			return;
+		}
+
+		if (!listings.tryAcquire()) {
+			reject(response, tier, "overload", HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1),
+					"Servidor sobrecarregado, tente novamente mais tarde");
+			return;
+		}
+		boolean async = false;
+		try {
+			chain.doFilter(request, response);
+			async = request.isAsyncStarted();
+		} finally {
+			if (async) {
+				request.getAsyncContext().addListener(new ReleaseListener(listings));
+			} else {
+				listings.release();
+			}
+		}
+	}
+
+	static String tier(HttpServletRequest request) {
+		if (!"GET".equals(request.getMethod())) {
+			return LOOKUP;
+		}
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		if (path.length() > 1 && path.endsWith("/")) {
+			path = path.substring(0, path.length() - 1);
+		}
+		return LISTINGS.contains(path) ? LISTING : LOOKUP;
+	}
+
+	private void reject(HttpServletResponse response, String tier, String reason, HttpStatus status, long wait,
+			String message) throws IOException {
+		LOG.debug("RateLimitFilter - REQUISIÇÃO RECUSADA ({}, {})", tier, reason);
+		MeterRegistry meters = registry.getIfAvailable();
+		if (meters != null) {
+			Counter.builder(REJECTED)
+					.description("Requisições recusadas pelo limite por cliente ou por sobrecarga")
+					.tag("tier", tier)
+					.tag("reason", reason)
+					.register(meters)
+					.increment();
+		}
+
+		response.setStatus(status.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER,
+				String.valueOf(Math.max(1, (wait + 999_999_999L) / 1_000_000_000L)));
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.setCharacterEncoding("UTF-8");
+		objectMapper.writeValue(response.getOutputStream(),
+				new StandardError(System.currentTimeMillis(), status.value(), message));
+	}
+
+	/*
+	 * Listagens assíncronas (GET /os/export) só liberam a vaga quando a resposta
+	 * termina
+	 */
+	private static final class ReleaseListener implements AsyncListener {
+
+		private final Semaphore permits;
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		private ReleaseListener(Semaphore permits) {
+			this.permits = permits;
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			release();
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			release();
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			release();
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+			event.getAsyncContext().addListener(this);
+		}
+
+		private void release() {
+			if (released.compareAndSet(false, true)) {
+				permits.release();
+			}
+		}
+	}
+
+}
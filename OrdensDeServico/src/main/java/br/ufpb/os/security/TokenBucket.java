@@ -0,0 +1,41 @@
+package br.ufpb.os.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Token bucket sem locks: até capacity requisições de uma vez e depois uma a cada
+ * interval nanossegundos. Em vez de tokens e horário da última recarga, guarda
+ * só o instante em que o balde ficaria vazio (GCRA), então cada tentativa é um
+ * compareAndSet em um AtomicLong
+ */
+final class TokenBucket {
+
+	private final long interval;
+	private final long burst;
+	private final AtomicLong emptyAt;
+
+	TokenBucket(int capacity, double perSecond, long now) {
+		this.interval = Math.max(1, (long) (1_000_000_000L / perSecond));
+		this.burst = interval * capacity;
+		this.emptyAt = new AtomicLong(now);
+	}
+
+	/*
+	 * Consome um token. Devolve 0 se havia token ou, se não havia, quantos
+	 * nanossegundos faltam para o próximo
+	 */
+	long tryAcquire(long now) {
+		while (true) {
+			long current = emptyAt.get();
+			long next = Math.max(current, now) + interval;
+			long wait = next - now - burst;
+			if (wait > 0) {
+				return wait;
+			}
+			if (emptyAt.compareAndSet(current, next)) {
+				return 0;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,46 @@
+package br.ufpb.os.services;
+
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+ * Ações sobre o estado em memória dos serviços (contadores, índices, filas,
+ * eventos) que dependem do desfecho da transação corrente: afterCommit só
+ * acontece se ela for confirmada (fora de uma transação, roda na hora) e
+ * afterRollback desfaz o que foi antecipado se ela for revertida
+ */
+public final class AfterCommit {
+
+	private AfterCommit() {
+	}
+
+	public static void afterCommit(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+
+	public static void afterRollback(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+			@Override
+			public void afterCompletion(int status) {
+				if (status == STATUS_ROLLED_BACK) {
+					action.run();
+				}
+			}
+		});
+	}
+
+}
@@ -0,0 +1,325 @@
+package br.ufpb.os.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.ufpb.os.domain.ChangeLog;
+import br.ufpb.os.domain.Cliente;
+import br.ufpb.os.domain.Pessoa;
+import br.ufpb.os.dtos.ClienteDTO;
+import br.ufpb.os.dtos.ClienteImportResultDTO;
+import br.ufpb.os.repositories.ClienteRepository;
+import br.ufpb.os.repositories.PessoaRepository;
+import br.ufpb.os.services.exceptions.InvalidRequestException;
+
+/*
+ * Importação de clientes a partir de CSV (nome,cpf,telefone). O arquivo é lido em
+ * blocos de CHUNK_SIZE linhas: a validação de cada bloco roda em paralelo no
+ * validationPool enquanto o bloco anterior é gravado, com no máximo pipelineDepth
+ * blocos em memória, então o consumo não depende do tamanho do arquivo
+ */
+@Service
+public class ClienteImportService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ClienteImportService.class);
+
+	public static final int CHUNK_SIZE = 1000;
+
+	private static final String[] HEADER = { "nome", "cpf", "telefone" };
+
+	@Autowired
+	private ClienteRepository repository;
+
+	@Autowired
+	private PessoaRepository pessoaRepository;
+
+	@Autowired
+	private ClienteService clienteService;
+
+	@Autowired
+	private SyncService syncService;
+
+	@Autowired
+	private Validator validator;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private ExecutorService validationPool;
+
+	private int pipelineDepth;
+
+	@PostConstruct
+	public void init() {
+		pipelineDepth = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+		AtomicInteger count = new AtomicInteger();
+		validationPool = Executors.newFixedThreadPool(pipelineDepth, runnable -> {
+			Thread thread = new Thread(runnable, "cliente-import-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		validationPool.shutdownNow();
+	}
+
+	public ClienteImportResultDTO importCsv(InputStream in) throws IOException {
+		LOG.info("Service - IMPORTANDO CLIENTES DE CSV");
+		long start = System.nanoTime();
+		ClienteImportResultDTO result = new ClienteImportResultDTO();
+		Deque<Future<List<Row>>> inFlight = new ArrayDeque<>();
+
+		try {
+			BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+			int[] columns = { 0, 1, 2 };
+			List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+			int lineNumber = 0;
+			String line;
+
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				if (line.isBlank()) {
+					continue;
+				}
+
+				List<String> fields = parseCsvLine(line);
+				if (lineNumber == 1 && isHeader(fields)) {
+					columns = columnsOf(fields);
+					continue;
+				}
+
+				chunk.add(new Row(lineNumber, fields, columns));
+				if (chunk.size() == CHUNK_SIZE) {
+					submit(chunk, inFlight, result);
+					chunk = new ArrayList<>(CHUNK_SIZE);
+				}
+			}
+
+			if (!chunk.isEmpty()) {
+				submit(chunk, inFlight, result);
+			}
+			while (!inFlight.isEmpty()) {
+				write(await(inFlight.poll()), result);
+			}
+		} finally {
+			inFlight.forEach(future -> future.cancel(true));
+		}
+
+		result.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+		LOG.info("Service - IMPORTAÇÃO CONCLUÍDA: {} lidos, {} importados, {} rejeitados em {} ms", result.getRead(),
+				result.getImported(), result.getRejected(), result.getElapsedMillis());
+		return result;
+	}
+
+	/*
+	 * Envia o bloco para validação; se o pipeline estiver cheio, grava antes o
+	 * bloco mais antigo, mantendo a ordem do arquivo
+	 */
+	private void submit(List<Row> chunk, Deque<Future<List<Row>>> inFlight, ClienteImportResultDTO result) {
+		if (inFlight.size() == pipelineDepth) {
+			write(await(inFlight.poll()), result);
+		}
+		inFlight.add(validationPool.submit(() -> validate(chunk)));
+	}
+
+	private List<Row> await(Future<List<Row>> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Importação interrompida!", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Falha na validação da importação!", e.getCause());
+		}
+	}
+
+	/*
+	 * Aplica as mesmas regras de ClienteDTO (@CPF, @NotEmpty) a cada linha e
+	 * normaliza o CPF para o formato 000.000.000-00 usado na base
+	 */
+	private List<Row> validate(List<Row> chunk) {
+		for (Row row : chunk) {
+			if (row.error != null) {
+				continue;
+			}
+
+			ClienteDTO dto = new ClienteDTO();
+			dto.setNome(row.nome);
+			dto.setCpf(row.cpf);
+			dto.setTelefone(row.telefone);
+
+			Set<ConstraintViolation<ClienteDTO>> violations = validator.validate(dto);
+			if (!violations.isEmpty()) {
+				row.error = violations.stream().map(ConstraintViolation::getMessage).sorted()
+						.collect(Collectors.joining("; "));
+			} else {
+				row.cpf = Pessoa.formatCpf(row.cpf);
+			}
+		}
+		return chunk;
+	}
+
+	/*
+	 * Descarta CPFs repetidos no bloco e já cadastrados (uma consulta IN por bloco)
+	 * e grava o restante em uma transação. Repetições entre blocos diferentes são
+	 * encontradas na consulta, pois os blocos anteriores já foram gravados
+	 */
+	private void write(List<Row> rows, ClienteImportResultDTO result) {
+		result.addRead(rows.size());
+		Map<String, Row> unique = new LinkedHashMap<>();
+
+		for (Row row : rows) {
+			if (row.error != null) {
+				result.addRejected(row.line, row.cpf, row.error);
+			} else if (unique.putIfAbsent(row.cpf, row) != null) {
+				result.addRejected(row.line, row.cpf, "CPF duplicado no arquivo!");
+			}
+		}
+
+		if (unique.isEmpty()) {
+			return;
+		}
+
+		transactionTemplate.executeWithoutResult(status -> {
+			Set<String> existing = new HashSet<>(pessoaRepository.findExistingCPFs(unique.keySet()));
+			List<Cliente> batch = new ArrayList<>(unique.size());
+
+			for (Row row : unique.values()) {
+				if (existing.contains(row.cpf)) {
+					result.addRejected(row.line, row.cpf, "CPF já cadastrado na base de dados!");
+				} else {
+					batch.add(new Cliente(null, row.nome, row.cpf, row.telefone));
+				}
+			}
+
+			repository.saveAll(batch);
+			syncService.recordSaved(ChangeLog.CLIENTE,
+					batch.stream().map(Cliente::getId).collect(Collectors.toList()));
+			clienteService.recordSaved(batch);
+			entityManager.flush();
+			entityManager.clear();
+			result.addImported(batch.size());
+		});
+	}
+
+	private static boolean isHeader(List<String> fields) {
+		for (String field : fields) {
+			for (String name : HEADER) {
+				if (name.equalsIgnoreCase(field.trim())) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static int[] columnsOf(List<String> header) {
+		int[] columns = new int[HEADER.length];
+
+		for (int i = 0; i < HEADER.length; i++) {
+			columns[i] = -1;
+			for (int j = 0; j < header.size(); j++) {
+				if (HEADER[i].equalsIgnoreCase(header.get(j).trim())) {
+					columns[i] = j;
+				}
+			}
+			if (columns[i] < 0) {
+				throw new InvalidRequestException("Coluna " + HEADER[i] + " ausente no cabeçalho do CSV!");
+			}
+		}
+		return columns;
+	}
+
+	/*
+	 * Divide uma linha CSV em campos, aceitando campos entre aspas com vírgulas e
+	 * aspas duplicadas ("")
+	 */
+	static List<String> parseCsvLine(String line) {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+
+			if (quoted) {
+				if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					field.append('"');
+					i++;
+				} else if (c == '"') {
+					quoted = false;
+				} else {
+					field.append(c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+
+	private static final class Row {
+
+		private final int line;
+		private String nome;
+		private String cpf;
+		private String telefone;
+		private String error;
+
+		private Row(int line, List<String> fields, int[] columns) {
+			this.line = line;
+
+			int max = Math.max(columns[0], Math.max(columns[1], columns[2]));
+			if (fields.size() <= max) {
+				this.error = "Linha com " + fields.size() + " colunas, esperadas " + HEADER.length;
+				return;
+			}
+
+			this.nome = fields.get(columns[0]).trim();
+			this.cpf = fields.get(columns[1]).trim();
+			this.telefone = fields.get(columns[2]).trim();
+		}
+	}
+
+}
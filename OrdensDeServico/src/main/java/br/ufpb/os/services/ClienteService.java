@@ -1,23 +1,40 @@
 package br.ufpb.os.services;
 
+import static br.ufpb.os.services.AfterCommit.afterCommit;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import javax.annotation.PostConstruct;
 import javax.validation.Valid;
 
+import br.ufpb.os.domain.ChangeLog;
 import br.ufpb.os.domain.Cliente;
+import br.ufpb.os.config.CacheConfig;
 import br.ufpb.os.domain.Pessoa;
 import br.ufpb.os.dtos.ClienteDTO;
+import br.ufpb.os.dtos.Cursor;
+import br.ufpb.os.dtos.CursorPageDTO;
+import br.ufpb.os.dtos.PessoaSuggestDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 //import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import br.ufpb.os.repositories.PessoaRepository;
 import br.ufpb.os.repositories.ClienteRepository;
 import br.ufpb.os.services.exceptions.DataIntegratyViolationException;
 import br.ufpb.os.services.exceptions.ObjectNotFoundException;
+import br.ufpb.os.services.exceptions.PreconditionFailedException;
 
 @Service
 public class ClienteService {
@@ -30,7 +47,27 @@ public class ClienteService {
 	@Autowired
 	private PessoaRepository pessoaRepository;
 
+	@Autowired
+	private SyncService syncService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	private final PessoaSuggestIndex suggestIndex = new PessoaSuggestIndex();
+
+	@PostConstruct
+	public void loadSuggestIndex() {
+		LOG.info("Service - CARREGANDO ÍNDICE DE SUGESTÕES DE CLIENTES");
+		suggestIndex.putAll(repository.findAllSuggest());
+	}
 
+	/*
+	 * Sempre no banco e sem juntar buscas simultâneas: a entidade devolvida
+	 * pertence ao contexto de persistência de quem chamou (update e delete a
+	 * alteram) e não pode ser dividida entre threads. As leituras da API passam
+	 * por findDTOById
+	 */
+	@Transactional(readOnly = true)
 	public Cliente findById(Integer id) {
 		LOG.info("Service - BUSCANDO CLIENTE POR ID");
 		Optional<Cliente> obj = repository.findById(id);
@@ -38,23 +75,82 @@ public class ClienteService {
 				"Objeto não encontrado! Id: " + id + ", Tipo: " + Cliente.class.getName()));
 	}
 
+	/*
+	 * Cópia em ClienteDTO guardada no cache "clientes" e removida depois que
+	 * update ou delete são confirmados. Com sync, buscas simultâneas pelo mesmo id
+	 * fora do cache fazem uma única consulta
+	 */
+	@Cacheable(value = CacheConfig.CLIENTES, sync = true)
+	@Transactional(readOnly = true)
+	public ClienteDTO findDTOById(Integer id) {
+		return new ClienteDTO(findById(id));
+	}
+
+	@Transactional(readOnly = true)
 	public List<Cliente> findAll() {
 		LOG.info("Service - BUSCANDO TODOS OS CLIENTES DO BANCO");
 		return repository.findAll();
 	}
 
+	@Transactional(readOnly = true)
+	public List<Cliente> findAllById(Collection<Integer> ids) {
+		LOG.info("Service - BUSCANDO CLIENTES POR IDS");
+		return repository.findAllById(ids);
+	}
+
+	/*
+	 * Sugestões por prefixo do nome ou parte do telefone, servidas do índice em
+	 * memória
+	 */
+	public List<PessoaSuggestDTO> suggest(String q, Integer limit) {
+		return suggestIndex.suggest(q, limit);
+	}
+
+	/*
+	 * Mantém o índice de sugestões após gravações feitas fora deste serviço
+	 * (importação de CSV), quando a transação delas for confirmada
+	 */
+	public void recordSaved(Collection<Cliente> list) {
+		List<PessoaSuggestDTO> suggestions = list.stream().map(ClienteService::toSuggest).collect(Collectors.toList());
+		afterCommit(() -> suggestIndex.putAll(suggestions));
+	}
+
+	@Transactional(readOnly = true)
+	public CursorPageDTO<Cliente> findPage(String after, Integer limit) {
+		LOG.info("Service - BUSCANDO PÁGINA DE CLIENTES");
+		int size = CursorPageDTO.clamp(limit);
+		Cursor cursor = Cursor.decode(after, Cursor.SORT_ID);
+
+		List<Cliente> list = repository.findPageAfter(cursor == null ? 0 : cursor.getId(), PageRequest.of(0, size + 1));
+		return CursorPageDTO.of(list, size, obj -> new Cursor(Cursor.SORT_ID, null, obj.getId()).encode());
+	}
+
+	@Transactional
 	public Cliente create(ClienteDTO objDTO) {
 		LOG.info("Service - CRIANDO NOVO CLIENTE");
 		if (findByCPF(objDTO) != null) {
 			throw new DataIntegratyViolationException("CPF já cadastrado na base de dados!");
 		}
 
-		return repository.save(new Cliente(null, objDTO.getNome(), objDTO.getCpf(), objDTO.getTelefone()));
+		Cliente newObj = repository.save(new Cliente(null, objDTO.getNome(), objDTO.getCpf(), objDTO.getTelefone()));
+		syncService.recordSaved(ChangeLog.CLIENTE, newObj.getId());
+		PessoaSuggestDTO suggestion = toSuggest(newObj);
+		afterCommit(() -> suggestIndex.put(suggestion));
+		return newObj;
 	}
 
-	public Cliente update(Integer id, @Valid ClienteDTO objDTO) {
+	/*
+	 * Atualiza um Cliente. Com versions (If-Match) informadas, falha se a versão
+	 * atual do cliente não estiver entre elas
+	 */
+	@Transactional
+	public Cliente update(Integer id, @Valid ClienteDTO objDTO, Set<Integer> versions) {
 		LOG.info("Service - ATUALIZANDO CLIENTE");
 		Cliente oldObj = findById(id);
+		if (versions != null && !versions.contains(oldObj.getVersion())) {
+			throw new PreconditionFailedException("Cliente alterado por outra requisição! Versão atual: "
+					+ oldObj.getVersion());
+		}
 
 		if (findByCPF(objDTO) != null && findByCPF(objDTO).getId() != id) {
 			throw new DataIntegratyViolationException("Id diferentes");
@@ -63,9 +159,15 @@ public class ClienteService {
 		oldObj.setNome(objDTO.getNome());
 		oldObj.setCpf(objDTO.getCpf());
 		oldObj.setTelefone(objDTO.getTelefone());
-		return repository.save(oldObj);
+		oldObj = repository.save(oldObj);
+		syncService.recordSaved(ChangeLog.CLIENTE, oldObj.getId());
+		PessoaSuggestDTO suggestion = toSuggest(oldObj);
+		afterCommit(() -> suggestIndex.put(suggestion));
+		evict(id);
+		return oldObj;
 	}
 
+	@Transactional
 	public void delete(Integer id) {
 		LOG.info("Service - DELETANDO CLIENTE");
 		Cliente obj = findById(id);
@@ -75,10 +177,38 @@ public class ClienteService {
 					+id+" possui Ordens de Serviço, não pode ser deletada!");
 		}
 		repository.deleteById(id);
+		syncService.recordDeleted(ChangeLog.CLIENTE, id);
+		afterCommit(() -> suggestIndex.remove(id));
+		evict(id);
+	}
+
+	/*
+	 * Tira o cliente do cache duas vezes. A remoção imediata faz as leituras durante
+	 * a transação irem ao banco em vez de servir a cópia guardada. Essas leituras
+	 * ainda veem a linha anterior ao commit e podem guardá-la de novo, então a
+	 * remoção depois da confirmação descarta o que entrou nesse intervalo: o
+	 * invalidate do Caffeine espera uma carga em andamento do mesmo id (sync =
+	 * true), e uma carga que começa depois do commit já lê a versão nova. Chavear o
+	 * cache pela @Version não serviria, porque GET /{id} não sabe a versão atual
+	 */
+	private void evict(Integer id) {
+		evictNow(id);
+		afterCommit(() -> evictNow(id));
+	}
+
+	private void evictNow(Integer id) {
+		Cache cache = cacheManager.getCache(CacheConfig.CLIENTES);
+		if (cache != null) {
+			cache.evict(id);
+		}
+	}
+
+	private static PessoaSuggestDTO toSuggest(Cliente obj) {
+		return new PessoaSuggestDTO(obj.getId(), obj.getNome(), obj.getCpf(), obj.getTelefone());
 	}
 
 	private Pessoa findByCPF(ClienteDTO objDTO) {
-		Pessoa obj = pessoaRepository.findByCPF(objDTO.getCpf());
+		Pessoa obj = pessoaRepository.findByCPF(Pessoa.formatCpf(objDTO.getCpf()));
 
 		if (obj != null) {
 			return obj;
@@ -0,0 +1,137 @@
+package br.ufpb.os.services;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.ufpb.os.services.exceptions.IdempotencyKeyReusedException;
+import br.ufpb.os.services.exceptions.InvalidRequestException;
+
+/*
+ * Idempotency-Key dos POST de criação. A primeira requisição com uma chave
+ * executa normalmente e a resposta fica guardada por idempotency.ttl (no máximo
+ * idempotency.max-size chaves, em memória); repetições com a mesma chave e o
+ * mesmo corpo recebem a resposta guardada sem chamar o serviço, e repetições
+ * simultâneas esperam a execução em andamento em vez de criar outra. A mesma
+ * chave com outro corpo é recusada (422). Se a primeira execução falhar, a
+ * chave é liberada e a próxima repetição executa de novo.
+ *
+ * As chaves valem só nesta instância da aplicação
+ */
+@Service
+public class IdempotencyService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(IdempotencyService.class);
+
+	public static final String HEADER = "Idempotency-Key";
+	public static final String REPLAYED_HEADER = "Idempotency-Replayed";
+
+	private static final int MAX_KEY_LENGTH = 255;
+
+	@Value("${idempotency.ttl:86400000}")
+	private long ttl;
+
+	@Value("${idempotency.max-size:100000}")
+	private long maxSize;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private Cache<String, Entry> entries;
+
+	@PostConstruct
+	public void init() {
+		entries = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(Duration.ofMillis(ttl))
+				.build();
+	}
+
+	/*
+	 * Executa action uma única vez por (scope, key). Sem key, apenas executa
+	 */
+	public <T> ResponseEntity<T> execute(String scope, String key, Object request,
+			Supplier<ResponseEntity<T>> action) {
+		if (key == null || key.isBlank()) {
+			return action.get();
+		}
+		if (key.length() > MAX_KEY_LENGTH) {
+			throw new InvalidRequestException(HEADER + " excede " + MAX_KEY_LENGTH + " caracteres!");
+		}
+
+		String id = scope + " " + key;
+		Entry entry = new Entry(fingerprint(request));
+		Entry existing = entries.asMap().putIfAbsent(id, entry);
+
+		if (existing != null) {
+			if (!MessageDigest.isEqual(existing.fingerprint, entry.fingerprint)) {
+				throw new IdempotencyKeyReusedException(HEADER + " já usada com outra requisição: " + key);
+			}
+			LOG.info("Service - REPETINDO RESPOSTA DE {}", id);
+			return replay(existing);
+		}
+
+		try {
+			ResponseEntity<T> response = action.get();
+			entry.response.complete(response);
+			return response;
+		} catch (RuntimeException | Error e) {
+			entries.asMap().remove(id, entry);
+			entry.response.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> ResponseEntity<T> replay(Entry entry) {
+		ResponseEntity<T> response;
+		try {
+			response = (ResponseEntity<T>) entry.response.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+		return ResponseEntity.status(response.getStatusCode())
+				.headers(response.getHeaders())
+				.header(REPLAYED_HEADER, "true")
+				.body(response.getBody());
+	}
+
+	private byte[] fingerprint(Object request) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+		} catch (JsonProcessingException | NoSuchAlgorithmException e) {
+			throw new IllegalStateException("Não foi possível calcular a assinatura da requisição", e);
+		}
+	}
+
+	private static final class Entry {
+
+		private final byte[] fingerprint;
+		private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+
+		private Entry(byte[] fingerprint) {
+			this.fingerprint = fingerprint;
+		}
+	}
+
+}
@@ -0,0 +1,72 @@
+package br.ufpb.os.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import br.ufpb.os.dtos.OSDTO;
+import br.ufpb.os.dtos.OSEventDTO;
+
+/*
+ * Buffer circular com os últimos eventos de OS. Os ids são sequenciais a partir
+ * de first; o evento id fica na posição (id - first) % capacidade até ser
+ * sobrescrito, capacidade eventos depois. Cada assinante guarda só o id do
+ * próximo evento que precisa receber
+ */
+public class OsEventBuffer {
+
+	private final OSEventDTO[] ring;
+	private final long first;
+	private long next;
+
+	public OsEventBuffer(int capacity, long first) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacidade inválida: " + capacity);
+		}
+		this.ring = new OSEventDTO[capacity];
+		this.first = first;
+		this.next = first;
+	}
+
+	public synchronized OSEventDTO append(String type, OSDTO os) {
+		OSEventDTO event = new OSEventDTO(next, type, os);
+		ring[index(next)] = event;
+		next++;
+		return event;
+	}
+
+	/* Id que o próximo evento publicado vai receber */
+	public synchronized long getNext() {
+		return next;
+	}
+
+	public synchronized boolean isAvailable(long from) {
+		return from <= next && from >= Math.max(first, next - ring.length);
+	}
+
+	/*
+	 * Até max eventos a partir do id from, em ordem. Retorna null se from já foi
+	 * sobrescrito ou não pertence a esta sequência (Last-Event-ID de outra
+	 * instância, por exemplo)
+	 */
+	public synchronized List<OSEventDTO> read(long from, int max) {
+		if (!isAvailable(from)) {
+			return null;
+		}
+
+		int size = (int) Math.min(max, next - from);
+		List<OSEventDTO> list = new ArrayList<>(size);
+		for (long id = from; id < from + size; id++) {
+			list.add(ring[index(id)]);
+		}
+		return list;
+	}
+
+	public int getCapacity() {
+		return ring.length;
+	}
+
+	private int index(long id) {
+		return (int) ((id - first) % ring.length);
+	}
+
+}
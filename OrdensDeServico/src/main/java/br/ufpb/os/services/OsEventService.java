@@ -0,0 +1,373 @@
+package br.ufpb.os.services;
+
+import static br.ufpb.os.services.AfterCommit.afterCommit;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.ufpb.os.domain.OS;
+import br.ufpb.os.dtos.OSDTO;
+import br.ufpb.os.dtos.OSEventDTO;
+
+/*
+ * Alterações de OS enviadas por SSE (GET /os/events). As escritas de OsService
+ * entram, após o commit, em um buffer circular em memória (OsEventBuffer) e cada
+ * assinante lê do buffer a partir do seu próprio cursor, então o banco não é
+ * consultado e a fila de cada assinante é limitada pelo tamanho do buffer.
+ *
+ * A resposta usa escrita não bloqueante do Servlet (WriteListener): um envio só
+ * acontece quando o socket aceita dados e, quando não aceita, a thread volta ao
+ * pool e o Tomcat chama onWritePossible ao liberar espaço. Um cliente que para
+ * de ler não prende nenhuma thread do pool os.events.threads.
+ *
+ * Quem reconecta com Last-Event-ID recebe os eventos perdidos, se ainda estiverem
+ * no buffer. Um assinante que fica mais de os.events.buffer-size eventos para
+ * trás, ou com o socket sem aceitar dados por mais de
+ * os.events.slow-consumer-timeout, tem a resposta encerrada; ao voltar com um
+ * Last-Event-ID que já saiu do buffer ele recebe um evento reset e deve
+ * recarregar a lista por GET /os. Os eventos são locais a esta instância da
+ * aplicação
+ */
+@Service
+public class OsEventService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(OsEventService.class);
+
+	public static final String RESET = "reset";
+
+	private static final byte[] HEARTBEAT = ":heartbeat\n\n".getBytes(StandardCharsets.UTF_8);
+
+	private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${os.events.buffer-size:4096}")
+	private int bufferSize;
+
+	@Value("${os.events.threads:8}")
+	private int threads;
+
+	@Value("${os.events.timeout:1800000}")
+	private long timeout;
+
+	@Value("${os.events.heartbeat:15000}")
+	private long heartbeat;
+
+	@Value("${os.events.slow-consumer-timeout:10000}")
+	private long slowConsumerTimeout;
+
+	private OsEventBuffer buffer;
+	private ExecutorService dispatcher;
+	private ScheduledExecutorService scheduler;
+
+	/*
+	 * Os ids começam no instante da inicialização (em microssegundos), para que um
+	 * Last-Event-ID de uma execução anterior não coincida com eventos desta
+	 */
+	@PostConstruct
+	public void init() {
+		buffer = new OsEventBuffer(bufferSize, TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis()));
+		dispatcher = Executors.newFixedThreadPool(threads, daemonThreads("os-events-"));
+		scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("os-events-heartbeat-"));
+		scheduler.scheduleWithFixedDelay(this::heartbeat, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+
+		long check = Math.max(100, slowConsumerTimeout / 2);
+		scheduler.scheduleWithFixedDelay(this::evictStalled, check, check, TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void destroy() {
+		scheduler.shutdownNow();
+		dispatcher.shutdownNow();
+		for (Subscriber sub : subscribers) {
+			close(sub);
+		}
+		subscribers.clear();
+	}
+
+	public void recordCreated(OS obj) {
+		OSDTO os = new OSDTO(obj);
+		afterCommit(() -> publish(OSEventDTO.CREATED, os));
+	}
+
+	public void recordUpdated(OS obj) {
+		OSDTO os = new OSDTO(obj);
+		afterCommit(() -> publish(OSEventDTO.UPDATED, os));
+	}
+
+	/*
+	 * Abre uma assinatura na própria requisição, em modo assíncrono. Com
+	 * lastEventId, começa pelo evento seguinte a ele; sem, só recebe o que for
+	 * publicado daqui em diante. O primeiro envio (cabeçalhos e eventos perdidos)
+	 * sai no onWritePossible que o Tomcat chama ao liberar a requisição
+	 */
+	public void subscribe(String lastEventId, HttpServletRequest request, HttpServletResponse response)
+			throws IOException {
+		response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+		AsyncContext async = request.startAsync(request, response);
+		async.setTimeout(timeout);
+		Subscriber sub = new Subscriber(async, response.getOutputStream(), buffer.getNext());
+
+		if (lastEventId != null) {
+			Long id = parseId(lastEventId);
+			if (id != null && buffer.isAvailable(id + 1)) {
+				sub.cursor = id + 1;
+			} else {
+				sub.reset = true;
+			}
+		}
+
+		async.addListener(sub);
+		subscribers.add(sub);
+		sub.out.setWriteListener(sub);
+	}
+
+	public int getSubscribers() {
+		return subscribers.size();
+	}
+
+	private void publish(String type, OSDTO os) {
+		buffer.append(type, os);
+		for (Subscriber sub : subscribers) {
+			signal(sub);
+		}
+	}
+
+	private void heartbeat() {
+		for (Subscriber sub : subscribers) {
+			sub.heartbeat = true;
+			signal(sub);
+		}
+	}
+
+	/*
+	 * Encerra quem está com o socket cheio há mais de slowConsumerTimeout. Como as
+	 * escritas não bloqueiam, nenhuma thread fica presa esperando por ele
+	 */
+	private void evictStalled() {
+		long now = System.nanoTime();
+		for (Subscriber sub : subscribers) {
+			long since = sub.stalledSince;
+			if (since != 0 && now - since > TimeUnit.MILLISECONDS.toNanos(slowConsumerTimeout)) {
+				evict(sub, "socket sem aceitar dados há mais de " + slowConsumerTimeout + " ms");
+			}
+		}
+	}
+
+	/*
+	 * Agenda o envio do que estiver pendente para o assinante, a menos que já
+	 * haja uma tarefa agendada para ele
+	 */
+	private void signal(Subscriber sub) {
+		if (sub.scheduled.compareAndSet(false, true)) {
+			try {
+				dispatcher.execute(() -> {
+					sub.scheduled.set(false);
+					drain(sub);
+				});
+			} catch (RejectedExecutionException e) {
+				sub.scheduled.set(false);
+			}
+		}
+	}
+
+	/*
+	 * Escreve enquanto o socket aceitar dados. Quando isReady devolve false, o
+	 * restante fica no buffer do assinante e o Tomcat chama onWritePossible ao
+	 * liberar espaço. Roda no pool ou na thread do Tomcat, uma de cada vez por
+	 * assinante, como o Servlet exige
+	 */
+	private void drain(Subscriber sub) {
+		synchronized (sub) {
+			if (sub.closed) {
+				return;
+			}
+
+			try {
+				boolean wrote = false;
+				while (sub.out.isReady()) {
+					byte[] next = next(sub);
+					if (next == null) {
+						if (wrote || !sub.flushed) {
+							sub.flushed = true;
+							sub.out.flush();
+						}
+						sub.stalledSince = 0;
+						return;
+					}
+					sub.out.write(next);
+					wrote = true;
+				}
+
+				if (sub.stalledSince == 0) {
+					sub.stalledSince = System.nanoTime();
+				}
+			} catch (IOException | IllegalStateException e) {
+				close(sub);
+			}
+		}
+	}
+
+	/*
+	 * Próximo trecho a enviar: o reset, o evento seguinte ao cursor ou o
+	 * heartbeat, nessa ordem; null se não houver nada ou se o assinante saiu
+	 */
+	private byte[] next(Subscriber sub) throws JsonProcessingException {
+		if (sub.reset) {
+			sub.cursor = buffer.getNext();
+			sub.reset = false;
+			String id = String.valueOf(sub.cursor - 1);
+			return event(id, RESET, id);
+		}
+
+		List<OSEventDTO> events = buffer.read(sub.cursor, 1);
+		if (events == null) {
+			evict(sub, "mais de " + buffer.getCapacity() + " eventos atrasado");
+			return null;
+		}
+
+		if (!events.isEmpty()) {
+			OSEventDTO event = events.get(0);
+			sub.cursor = event.getId() + 1;
+			sub.heartbeat = false;
+			return event(String.valueOf(event.getId()), event.getType(), objectMapper.writeValueAsString(event.getOs()));
+		}
+
+		if (sub.heartbeat) {
+			sub.heartbeat = false;
+			return HEARTBEAT;
+		}
+		return null;
+	}
+
+	private static byte[] event(String id, String name, String data) {
+		return ("id:" + id + "\nevent:" + name + "\ndata:" + data + "\n\n").getBytes(StandardCharsets.UTF_8);
+	}
+
+	private void evict(Subscriber sub, String reason) {
+		if (subscribers.contains(sub)) {
+			LOG.warn("Service - ASSINANTE DE EVENTOS DE OS DESCONECTADO: {}", reason);
+			close(sub);
+		}
+	}
+
+	/*
+	 * complete não espera o socket: o que ainda estiver no buffer do assinante é
+	 * descartado quando o Tomcat desistir da conexão
+	 */
+	private void close(Subscriber sub) {
+		subscribers.remove(sub);
+		synchronized (sub) {
+			if (sub.closed) {
+				return;
+			}
+			sub.closed = true;
+		}
+
+		try {
+			sub.async.complete();
+		} catch (IllegalStateException e) {
+			LOG.debug("Service - ASSINATURA DE EVENTOS JÁ ENCERRADA: {}", e.getMessage());
+		}
+	}
+
+	private static Long parseId(String value) {
+		try {
+			return Long.valueOf(value.trim());
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	private static ThreadFactory daemonThreads(String prefix) {
+		AtomicInteger count = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	private final class Subscriber implements WriteListener, AsyncListener {
+
+		private final AsyncContext async;
+		private final ServletOutputStream out;
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+		private volatile long stalledSince;
+		private volatile long cursor;
+		private volatile boolean reset;
+		private volatile boolean heartbeat;
+		private boolean flushed;
+		private boolean closed;
+
+		private Subscriber(AsyncContext async, ServletOutputStream out, long cursor) {
+			this.async = async;
+			this.out = out;
+			this.cursor = cursor;
+		}
+
+		@Override
+		public void onWritePossible() {
+			drain(this);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			close(this);
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			subscribers.remove(this);
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			close(this);
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			close(this);
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+		}
+	}
+
+}
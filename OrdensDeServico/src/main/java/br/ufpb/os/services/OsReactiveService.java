@@ -0,0 +1,32 @@
+package br.ufpb.os.services;
+
+import br.ufpb.os.domain.OS;
+import br.ufpb.os.dtos.OSDTO;
+import br.ufpb.os.repositories.OSReactiveRepository;
+import br.ufpb.os.services.exceptions.ObjectNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+ * Versão reativa das leituras de OsService: a consulta não prende uma conexão
+ * do Hikari nem uma thread enquanto o banco responde (ver OsReactiveController
+ * sobre a escrita da resposta)
+ */
+@Service
+public class OsReactiveService {
+
+	@Autowired
+	private OSReactiveRepository repository;
+
+	public Mono<OSDTO> findDTOById(Integer id) {
+		return repository.findDTOById(id).switchIfEmpty(Mono.error(() -> new ObjectNotFoundException(
+				"Objeto não encontrado! Id: " + id + ", Tipo: " + OS.class.getName())));
+	}
+
+	public Flux<OSDTO> findAllDTO() {
+		return repository.findAllDTO();
+	}
+
+}
@@ -0,0 +1,354 @@
+package br.ufpb.os.services;
+
+import static br.ufpb.os.services.AfterCommit.afterCommit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.ufpb.os.domain.OS;
+import br.ufpb.os.dtos.Cursor;
+import br.ufpb.os.dtos.CursorPageDTO;
+import br.ufpb.os.dtos.OSDTO;
+import br.ufpb.os.repositories.OSRepository;
+import br.ufpb.os.services.exceptions.InvalidRequestException;
+
+/*
+ * Índice invertido em memória sobre OS.observacoes para GET /os/search. Cada termo
+ * (TextAnalyzer) aponta para a lista de ids de OS que o contêm, ordenada por id,
+ * com a frequência do termo. A busca intersecta as listas dos termos da consulta
+ * e ordena o resultado por BM25. O índice é montado na inicialização com uma
+ * leitura única da tabela e atualizado após o commit de cada escrita em OsService
+ */
+@Service
+public class OsSearchService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(OsSearchService.class);
+
+	public static final String SORT_RELEVANCIA = "relevancia";
+
+	/* Parâmetros usuais do BM25 */
+	private static final double K1 = 1.2;
+	private static final double B = 0.75;
+
+	private final Map<String, Postings> index = new HashMap<>();
+	private final Map<Integer, String[]> documents = new HashMap<>();
+	private int[] lengths = new int[1024];
+	private long totalLength;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	@Autowired
+	private OSRepository repository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@PostConstruct
+	public void rebuild() {
+		LOG.info("Service - MONTANDO ÍNDICE DE BUSCA DE OS");
+		long start = System.nanoTime();
+
+		lock.writeLock().lock();
+		try {
+			index.clear();
+			documents.clear();
+			totalLength = 0;
+
+			transactionTemplate.executeWithoutResult(status -> {
+				try (Stream<Object[]> rows = repository.streamObservacoes()) {
+					rows.forEach(row -> put((Integer) row[0], (String) row[1]));
+				}
+			});
+		} finally {
+			lock.writeLock().unlock();
+		}
+
+		LOG.info("Service - ÍNDICE DE BUSCA MONTADO: {} OS, {} termos em {} ms", documents.size(), index.size(),
+				(System.nanoTime() - start) / 1_000_000);
+	}
+
+	public void recordSaved(OS obj) {
+		Integer id = obj.getId();
+		String observacoes = obj.getObservacoes();
+
+		afterCommit(() -> index(id, observacoes));
+	}
+
+	public void index(Integer id, String observacoes) {
+		lock.writeLock().lock();
+		try {
+			remove(id);
+			put(id, observacoes);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/*
+	 * Retorna os ids das OS que contêm todos os termos de q, do mais relevante para
+	 * o menos relevante (empate pelo id), a partir do cursor informado
+	 */
+	public CursorPageDTO<Integer> search(String q, String after, Integer limit) {
+		if (q == null || q.isBlank()) {
+			throw new InvalidRequestException("Parâmetro q é requerido!");
+		}
+
+		int size = CursorPageDTO.clamp(limit);
+		Cursor cursor = Cursor.decode(after, SORT_RELEVANCIA);
+		Hit last = cursor == null ? null : new Hit(cursor.getId(), cursorScore(cursor));
+		List<Hit> rows;
+
+		lock.readLock().lock();
+		try {
+			rows = match(TextAnalyzer.terms(q), last, size + 1);
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		return CursorPageDTO.of(rows, size, hit -> hit.cursor().encode()).map(hit -> hit.id);
+	}
+
+	/*
+	 * Ordena os OSDTO da página na mesma ordem dos ids retornados por search
+	 */
+	@Transactional(readOnly = true)
+	public CursorPageDTO<OSDTO> load(CursorPageDTO<Integer> page) {
+		Map<Integer, OSDTO> byId = new LinkedHashMap<>();
+		for (Integer id : page.getContent()) {
+			byId.put(id, null);
+		}
+		if (!byId.isEmpty()) {
+			for (OSDTO obj : repository.findDTOByIdIn(byId.keySet())) {
+				byId.put(obj.getId(), obj);
+			}
+		}
+
+		List<OSDTO> content = new ArrayList<>(byId.size());
+		byId.values().stream().filter(obj -> obj != null).forEach(content::add);
+		return new CursorPageDTO<>(content, page.getNext());
+	}
+
+	/*
+	 * Os count melhores resultados posteriores a last, mantidos em um heap: o custo
+	 * é proporcional ao tamanho da menor lista de termos, sem ordenar todos os
+	 * resultados
+	 */
+	private List<Hit> match(List<String> terms, Hit last, int count) {
+		List<Postings> lists = new ArrayList<>(terms.size());
+
+		for (String term : new LinkedHashSet<>(terms)) {
+			Postings postings = index.get(term);
+			if (postings == null) {
+				return new ArrayList<>();
+			}
+			lists.add(postings);
+		}
+		if (lists.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		/*
+		 * Intersecção a partir da menor lista: nas demais a posição só avança, com
+		 * busca exponencial (galloping) a partir da última posição encontrada
+		 */
+		lists.sort((x, y) -> Integer.compare(x.size, y.size));
+		Postings smallest = lists.get(0);
+		int n = documents.size();
+		double avgLength = (double) totalLength / n;
+		double[] idf = new double[lists.size()];
+		for (int t = 0; t < idf.length; t++) {
+			idf[t] = Math.log(1 + (n - lists.get(t).size + 0.5) / (lists.get(t).size + 0.5));
+		}
+		int[] positions = new int[lists.size()];
+		PriorityQueue<Hit> best = new PriorityQueue<>(count + 1, Comparator.reverseOrder());
+
+		candidates: for (int i = 0; i < smallest.size; i++) {
+			int id = smallest.ids[i];
+			double norm = K1 * (1 - B + B * lengths[id] / avgLength);
+			double score = 0;
+
+			for (int t = 0; t < idf.length; t++) {
+				int tf;
+				if (t == 0) {
+					tf = smallest.frequencies[i];
+				} else {
+					Postings postings = lists.get(t);
+					positions[t] = postings.seek(id, positions[t]);
+					if (positions[t] == postings.size) {
+						break candidates;
+					}
+					if (postings.ids[positions[t]] != id) {
+						continue candidates;
+					}
+					tf = postings.frequencies[positions[t]];
+				}
+				score += idf[t] * tf * (K1 + 1) / (tf + norm);
+			}
+
+			if ((last == null || Hit.compare(score, id, last.score, last.id) > 0)
+					&& (best.size() < count || Hit.compare(score, id, best.peek().score, best.peek().id) < 0)) {
+				best.add(new Hit(id, score));
+				if (best.size() > count) {
+					best.poll();
+				}
+			}
+		}
+
+		List<Hit> hits = new ArrayList<>(best);
+		hits.sort(null);
+		return hits;
+	}
+
+	private void put(Integer id, String observacoes) {
+		List<String> terms = TextAnalyzer.terms(observacoes);
+		Map<String, Integer> frequencies = new HashMap<>();
+		for (String term : terms) {
+			frequencies.merge(term, 1, Integer::sum);
+		}
+
+		String[] keys = new String[frequencies.size()];
+		int k = 0;
+		for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+			Postings postings = index.computeIfAbsent(entry.getKey(), Postings::new);
+			postings.add(id, entry.getValue());
+			keys[k++] = postings.term;
+		}
+
+		if (id >= lengths.length) {
+			lengths = Arrays.copyOf(lengths, Math.max(id + 1, lengths.length * 2));
+		}
+		documents.put(id, keys);
+		lengths[id] = terms.size();
+		totalLength += terms.size();
+	}
+
+	private void remove(Integer id) {
+		String[] terms = documents.remove(id);
+		if (terms == null) {
+			return;
+		}
+
+		for (String term : terms) {
+			Postings postings = index.get(term);
+			postings.remove(id);
+			if (postings.size == 0) {
+				index.remove(term);
+			}
+		}
+		totalLength -= lengths[id];
+		lengths[id] = 0;
+	}
+
+	private static double cursorScore(Cursor cursor) {
+		if (cursor.getKey() == null) {
+			throw new InvalidRequestException("Cursor inválido! Chave ausente");
+		}
+
+		try {
+			return Double.parseDouble(cursor.getKey());
+		} catch (NumberFormatException e) {
+			throw new InvalidRequestException("Cursor inválido! " + cursor.getKey(), e);
+		}
+	}
+
+	/*
+	 * Lista de ids ordenada com a frequência do termo em cada OS. Como os ids vêm
+	 * de uma sequência, novas OS entram no fim da lista
+	 */
+	private static final class Postings {
+
+		/* Instância única do termo, compartilhada pelas OS que o contêm */
+		private final String term;
+		private int[] ids = new int[4];
+		private int[] frequencies = new int[4];
+		private int size;
+
+		private Postings(String term) {
+			this.term = term;
+		}
+
+		private void add(int id, int frequency) {
+			int position = size == 0 || ids[size - 1] < id ? size : -(Arrays.binarySearch(ids, 0, size, id) + 1);
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, size * 2);
+				frequencies = Arrays.copyOf(frequencies, size * 2);
+			}
+			System.arraycopy(ids, position, ids, position + 1, size - position);
+			System.arraycopy(frequencies, position, frequencies, position + 1, size - position);
+			ids[position] = id;
+			frequencies[position] = frequency;
+			size++;
+		}
+
+		private void remove(int id) {
+			int position = Arrays.binarySearch(ids, 0, size, id);
+			if (position < 0) {
+				return;
+			}
+			System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+			System.arraycopy(frequencies, position + 1, frequencies, position, size - position - 1);
+			size--;
+		}
+
+		/*
+		 * Primeira posição a partir de from com id maior ou igual ao informado
+		 */
+		private int seek(int id, int from) {
+			int step = 1;
+			int high = from;
+			while (high < size && ids[high] < id) {
+				from = high + 1;
+				high += step;
+				step <<= 1;
+			}
+			int position = Arrays.binarySearch(ids, from, Math.min(high + 1, size), id);
+			return position < 0 ? -(position + 1) : position;
+		}
+	}
+
+	private static final class Hit implements Comparable<Hit> {
+
+		private final int id;
+		private final double score;
+
+		private Hit(int id, double score) {
+			this.id = id;
+			this.score = score;
+		}
+
+		private Cursor cursor() {
+			return new Cursor(SORT_RELEVANCIA, Double.toString(score), id);
+		}
+
+		@Override
+		public int compareTo(Hit other) {
+			return compare(score, id, other.score, other.id);
+		}
+
+		/* Maior relevância primeiro; empate pelo menor id */
+		private static int compare(double score, int id, double otherScore, int otherId) {
+			int result = Double.compare(otherScore, score);
+			return result != 0 ? result : Integer.compare(id, otherId);
+		}
+	}
+
+}
@@ -1,26 +1,68 @@
 package br.ufpb.os.services;
 
+import static br.ufpb.os.services.AfterCommit.afterCommit;
+import static br.ufpb.os.services.AfterCommit.afterRollback;
+
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.validation.ConstraintViolation;
 import javax.validation.Valid;
+import javax.validation.Validator;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
+import br.ufpb.os.config.ReplicaRoutingDataSource;
+import br.ufpb.os.domain.ChangeLog;
 import br.ufpb.os.domain.Cliente;
 import br.ufpb.os.domain.OS;
 import br.ufpb.os.domain.Tecnico;
 import br.ufpb.os.domain.enuns.Prioridade;
 import br.ufpb.os.domain.enuns.Status;
+import br.ufpb.os.dtos.Cursor;
+import br.ufpb.os.dtos.CursorPageDTO;
+import br.ufpb.os.dtos.OSBatchResultDTO;
 import br.ufpb.os.dtos.OSDTO;
+import br.ufpb.os.dtos.OSFilterDTO;
 import br.ufpb.os.repositories.OSRepository;
+import br.ufpb.os.services.exceptions.DataIntegratyViolationException;
+import br.ufpb.os.services.exceptions.InvalidRequestException;
 import br.ufpb.os.services.exceptions.ObjectNotFoundException;
+import br.ufpb.os.services.exceptions.PreconditionFailedException;
 
 @Service
 public class OsService {
 
+	private static final Logger LOG = LoggerFactory.getLogger(OsService.class);
+
+	public static final int MAX_BATCH_SIZE = 10000;
+
 	@Autowired
 	private OSRepository repository;
 
@@ -30,47 +72,369 @@ public class OsService {
 	@Autowired
 	private ClienteService clienteService;
 
+	@Autowired
+	private OsStatsService statsService;
+
+	@Autowired
+	private TecnicoLoadService loadService;
+
+	@Autowired
+	private OsSearchService searchService;
+
+	@Autowired
+	private OsEventService eventService;
+
+	@Autowired
+	private SyncService syncService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private Validator validator;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+	private int jdbcBatchSize;
+
+	private final SingleFlight<Integer, Optional<OSDTO>> dtoFlights = new SingleFlight<>();
+
+	@Transactional(readOnly = true)
 	public OS findById(Integer id) {
 		Optional<OS> obj = repository.findById(id);
 		return obj.orElseThrow(() -> new ObjectNotFoundException(
 				"Objeto não encontrado! Id: " + id + ", Tipo: " + OS.class.getName()));
 	}
 
+	@Transactional(readOnly = true)
 	public List<OS> findAll() {
 		return repository.findAll();
 	}
 
+	/*
+	 * Leituras para a API: montam o OSDTO direto da consulta, sem carregar as
+	 * entidades associadas. Buscas simultâneas pela mesma OS (GET /os/{id}) fazem
+	 * uma única consulta (SingleFlight), exceto as que precisam ler do primário
+	 * logo após uma escrita, que não podem receber o resultado lido da réplica
+	 */
+	@Transactional(readOnly = true)
+	public OSDTO findDTOById(Integer id) {
+		Optional<OSDTO> obj = ReplicaRoutingDataSource.isPrimaryPinned() ? repository.findDTOById(id)
+				: dtoFlights.execute(id, () -> repository.findDTOById(id));
+		return obj.orElseThrow(() -> new ObjectNotFoundException(
+				"Objeto não encontrado! Id: " + id + ", Tipo: " + OS.class.getName()));
+	}
+
+	@Transactional(readOnly = true)
+	public List<OSDTO> findAllDTO(OSFilterDTO filter) {
+		if (filter == null || filter.isEmpty()) {
+			return repository.findAllDTO();
+		}
+		validate(filter);
+		return repository.findDTO(filter, Cursor.SORT_ID, null, -1);
+	}
+
+	/*
+	 * Busca uma página de OS a partir do cursor, aplicando os filtros informados.
+	 * Cada ordenação usa uma consulta seek sobre (chave, id), então a página N
+	 * custa o mesmo que a primeira
+	 */
+	@Transactional(readOnly = true)
+	public CursorPageDTO<OSDTO> findPage(OSFilterDTO filter, String after, Integer limit, String sort) {
+		int size = CursorPageDTO.clamp(limit);
+		Cursor cursor = Cursor.decode(after, sort);
+		validate(filter);
+
+		List<OSDTO> list = repository.findDTO(filter, sort, cursor, size + 1);
+		switch (sort) {
+		case OSRepository.SORT_DATA_ABERTURA:
+			return CursorPageDTO.of(list, size,
+					obj -> new Cursor(sort, obj.getDataAbertura().toString(), obj.getId()).encode());
+		case OSRepository.SORT_PRIORIDADE:
+			return CursorPageDTO.of(list, size,
+					obj -> new Cursor(sort, String.valueOf(obj.getPrioridade().getCod()), obj.getId()).encode());
+		default:
+			return CursorPageDTO.of(list, size, obj -> new Cursor(sort, null, obj.getId()).encode());
+		}
+	}
+
+	/*
+	 * Rejeita códigos de status e prioridade inexistentes
+	 */
+	private static void validate(OSFilterDTO filter) {
+		if (filter != null) {
+			try {
+				Status.toEnum(filter.getStatus());
+				Prioridade.toEnum(filter.getPrioridade());
+			} catch (IllegalArgumentException e) {
+				throw new InvalidRequestException(e.getMessage(), e);
+			}
+		}
+	}
+
+	/*
+	 * Exporta todas as OS em NDJSON (um OSDTO por linha). As linhas chegam como
+	 * projeção, sem entidades gerenciadas, então a memória usada não cresce com o
+	 * tamanho da tabela. Retorna o número de linhas escritas
+	 */
+	@Transactional(readOnly = true)
+	public long export(OutputStream out) throws IOException {
+		ObjectWriter writer = objectMapper.writerFor(OSDTO.class)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		long count = 0;
+
+		try (Stream<OSDTO> stream = repository.streamAllDTO();
+				JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+			gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			gen.setRootValueSeparator(null);
+
+			Iterator<OSDTO> it = stream.iterator();
+			while (it.hasNext()) {
+				writer.writeValue(gen, it.next());
+				gen.writeRaw('\n');
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/*
+	 * Cria uma OS. Sem técnico informado, a OS é atribuída automaticamente ao
+	 * técnico com menor carga de trabalho (TecnicoLoadService); a reserva feita na
+	 * atribuição é desfeita se a transação for revertida
+	 */
+	@Transactional
 	public OS create(@Valid OSDTO obj) {
-		return fromDTO(obj);
+		if (obj.getTecnico() != null) {
+			OS newObj = fromDTO(obj);
+			syncService.recordSaved(ChangeLog.OS, newObj.getId());
+			statsService.recordCreated(newObj);
+			loadService.recordCreated(newObj);
+			searchService.recordSaved(newObj);
+			eventService.recordCreated(newObj);
+			return newObj;
+		}
+
+		Status status = obj.getStatus();
+		Prioridade prioridade = obj.getPrioridade();
+		Integer tecnico = loadService.assign(status, prioridade);
+		afterRollback(() -> loadService.release(tecnico, status, prioridade));
+		obj.setTecnico(tecnico);
+
+		OS newObj = fromDTO(obj);
+		syncService.recordSaved(ChangeLog.OS, newObj.getId());
+		statsService.recordCreated(newObj);
+		searchService.recordSaved(newObj);
+		eventService.recordCreated(newObj);
+		return newObj;
 	}
 
-	public OS update(@Valid OSDTO obj) {
-		findById(obj.getId());
-		return fromDTO(obj);
+	/*
+	 * Cria várias OS de uma vez. Técnicos e clientes referenciados são buscados em
+	 * duas consultas IN e os INSERTs vão ao banco em lotes JDBC de
+	 * hibernate.jdbc.batch_size. Itens sem técnico são atribuídos como em create.
+	 * Itens inválidos, inclusive com códigos de status ou prioridade inexistentes,
+	 * são rejeitados individualmente sem impedir a criação dos demais
+	 */
+	@Transactional
+	public OSBatchResultDTO createBatch(List<JsonNode> items) {
+		if (items.size() > MAX_BATCH_SIZE) {
+			throw new InvalidRequestException("Lote excede o limite de " + MAX_BATCH_SIZE + " OS!");
+		}
+
+		long start = System.nanoTime();
+		OSBatchResultDTO result = new OSBatchResultDTO();
+
+		List<OSDTO> list = new ArrayList<>(items.size());
+		String[] readErrors = new String[items.size()];
+		for (int i = 0; i < items.size(); i++) {
+			try {
+				list.add(readBatchItem(items.get(i)));
+			} catch (JsonProcessingException e) {
+				list.add(null);
+				Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+				readErrors[i] = (cause instanceof IllegalArgumentException) ? cause.getMessage() : "OS inválida!";
+			}
+		}
+
+		Set<Integer> tecnicoIds = new HashSet<>();
+		Set<Integer> clienteIds = new HashSet<>();
+		for (OSDTO obj : list) {
+			if (obj == null) {
+				continue;
+			}
+			if (obj.getTecnico() != null) {
+				tecnicoIds.add(obj.getTecnico());
+			}
+			if (obj.getCliente() != null) {
+				clienteIds.add(obj.getCliente());
+			}
+		}
+
+		Map<Integer, Tecnico> tecnicos = tecnicoService.findAllById(tecnicoIds).stream()
+				.collect(Collectors.toMap(Tecnico::getId, Function.identity()));
+		Map<Integer, Cliente> clientes = clienteService.findAllById(clienteIds).stream()
+				.collect(Collectors.toMap(Cliente::getId, Function.identity()));
+
+		List<Runnable> releases = new ArrayList<>();
+		afterRollback(() -> releases.forEach(Runnable::run));
+
+		int pending = 0;
+		for (int i = 0; i < list.size(); i++) {
+			OSDTO obj = list.get(i);
+			String error = (readErrors[i] != null) ? readErrors[i] : validateBatchItem(obj, tecnicos, clientes);
+			boolean autoAssigned = false;
+
+			if (error == null && obj.getTecnico() == null) {
+				try {
+					Status status = obj.getStatus();
+					Prioridade prioridade = obj.getPrioridade();
+					Integer tecnico = loadService.assign(status, prioridade);
+					releases.add(() -> loadService.release(tecnico, status, prioridade));
+					obj.setTecnico(tecnico);
+					autoAssigned = true;
+				} catch (DataIntegratyViolationException e) {
+					error = e.getMessage();
+				}
+			}
+
+			if (error != null) {
+				result.addRejected(i, error);
+				continue;
+			}
+
+			obj.setId(null);
+			Tecnico tec = tecnicos.computeIfAbsent(obj.getTecnico(),
+					id -> entityManager.getReference(Tecnico.class, id));
+			OS newObj = repository.save(toEntity(obj, tec, clientes.get(obj.getCliente())));
+			result.addCreated(i, newObj.getId());
+			syncService.recordSaved(ChangeLog.OS, newObj.getId());
+			statsService.recordCreated(newObj);
+			if (!autoAssigned) {
+				loadService.recordCreated(newObj);
+			}
+			searchService.recordSaved(newObj);
+			eventService.recordCreated(newObj);
+
+			if (++pending == jdbcBatchSize) {
+				entityManager.flush();
+				entityManager.clear();
+				pending = 0;
+			}
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		long elapsed = System.nanoTime() - start;
+		result.setElapsedMillis(elapsed / 1_000_000);
+		result.setRowsPerSecond(elapsed == 0 ? 0 : result.getCreated() * 1_000_000_000.0 / elapsed);
+
+		LOG.info("Service - LOTE DE OS CRIADO: {} criadas, {} rejeitadas em {} ms ({} OS/s)", result.getCreated(),
+				result.getRejected(), result.getElapsedMillis(), String.format("%.1f", result.getRowsPerSecond()));
+		return result;
+	}
+
+	/*
+	 * Atualiza uma OS. Com versions (If-Match) informadas, falha se a versão atual
+	 * da OS não estiver entre elas; a gravação usa a versão lida, então uma atualização
+	 * concorrente resulta em ObjectOptimisticLockingFailureException
+	 */
+	@Transactional
+	public OS update(@Valid OSDTO obj, Set<Integer> versions) {
+		OS oldObj = findById(obj.getId());
+		if (versions != null && !versions.contains(oldObj.getVersion())) {
+			throw new PreconditionFailedException("OS alterada por outra requisição! Versão atual: "
+					+ oldObj.getVersion());
+		}
+		obj.setVersion(oldObj.getVersion());
+		Status oldStatus = oldObj.getStatus();
+		Prioridade oldPrioridade = oldObj.getPrioridade();
+		Integer oldTecnico = oldObj.getTecnico().getId();
+
+		OS newObj = fromDTO(obj);
+		syncService.recordSaved(ChangeLog.OS, newObj.getId());
+		statsService.recordUpdated(oldStatus, oldPrioridade, oldTecnico, newObj);
+		loadService.recordUpdated(oldStatus, oldPrioridade, oldTecnico, newObj);
+		searchService.recordSaved(newObj);
+		eventService.recordUpdated(newObj);
+		afterCommit(() -> dtoFlights.forget(newObj.getId()));
+		return newObj;
 	}
 	
+	/*
+	 * Técnico e cliente são conferidos pelo cache (findDTOById, que lança
+	 * ObjectNotFoundException) e associados por referência, sem consulta
+	 */
 	private OS fromDTO(OSDTO obj) {
+		tecnicoService.findDTOById(obj.getTecnico());
+		clienteService.findDTOById(obj.getCliente());
+		Tecnico tec = entityManager.getReference(Tecnico.class, obj.getTecnico());
+		Cliente cli = entityManager.getReference(Cliente.class, obj.getCliente());
+
+		return repository.save(toEntity(obj, tec, cli));
+	}
+
+	private OS toEntity(OSDTO obj, Tecnico tec, Cliente cli) {
+		if (obj.getPrioridade() == null || obj.getStatus() == null) {
+			throw new InvalidRequestException("Os campos PRIORIDADE e STATUS são requeridos");
+		}
+
 		OS newObj = new OS();
 		newObj.setId(obj.getId());
+		newObj.setVersion(obj.getVersion());
 		newObj.setObservacoes(obj.getObservacoes());
-		newObj.setPrioridade(Prioridade.toEnum(obj.getPrioridade().getCod()));
-		newObj.setStatus(Status.toEnum(obj.getStatus().getCod()));
-
-		Tecnico tec = tecnicoService.findById(obj.getTecnico());
-		Cliente cli = clienteService.findById(obj.getCliente());
+		newObj.setPrioridade(obj.getPrioridade());
+		newObj.setStatus(obj.getStatus());
 
 		newObj.setTecnico(tec);
 		newObj.setCliente(cli);
 
-		if(newObj.getStatus().getCod().equals(2)) {
+		if(newObj.getStatus() == Status.ENCERRADO) {
 			newObj.setDataFechamento(LocalDateTime.now());
 		}
 		
-		return repository.save(newObj);
+		return newObj;
 	}
 
+	/*
+	 * Lê um item do lote como o corpo de POST /os; null para itens vazios
+	 */
+	private OSDTO readBatchItem(JsonNode node) throws JsonProcessingException {
+		if (node == null || node.isNull()) {
+			return null;
+		}
+		return objectMapper.treeToValue(node, OSDTO.class);
+	}
 
+	/*
+	 * Retorna a mensagem de erro do item do lote, ou null se ele for válido
+	 */
+	private String validateBatchItem(OSDTO obj, Map<Integer, Tecnico> tecnicos, Map<Integer, Cliente> clientes) {
+		if (obj == null) {
+			return "OS vazia!";
+		}
 
+		Set<ConstraintViolation<OSDTO>> violations = validator.validate(obj);
+		if (!violations.isEmpty()) {
+			return violations.stream().map(ConstraintViolation::getMessage).collect(Collectors.joining("; "));
+		}
 
+		if (obj.getPrioridade() == null) {
+			return "O campo PRIORIDADE é requerido";
+		}
+		if (obj.getStatus() == null) {
+			return "O campo STATUS é requerido";
+		}
+
+		if (obj.getTecnico() != null && !tecnicos.containsKey(obj.getTecnico())) {
+			return "Objeto não encontrado! Id: " + obj.getTecnico() + ", Tipo: " + Tecnico.class.getName();
+		}
+		if (!clientes.containsKey(obj.getCliente())) {
+			return "Objeto não encontrado! Id: " + obj.getCliente() + ", Tipo: " + Cliente.class.getName();
+		}
+		return null;
+	}
 
 }
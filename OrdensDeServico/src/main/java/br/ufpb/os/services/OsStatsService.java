@@ -0,0 +1,114 @@
+package br.ufpb.os.services;
+
+import static br.ufpb.os.services.AfterCommit.afterCommit;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import br.ufpb.os.domain.OS;
+import br.ufpb.os.domain.enuns.Prioridade;
+import br.ufpb.os.domain.enuns.Status;
+import br.ufpb.os.dtos.OSStatsDTO;
+import br.ufpb.os.repositories.OSRepository;
+
+/*
+ * Contadores de OS por status, prioridade e técnico mantidos em memória. São
+ * carregados uma vez com um GROUP BY na inicialização e depois atualizados a cada
+ * escrita em OsService (após o commit), então GET /os/stats nunca lê a tabela.
+ * Os contadores são locais a esta instância da aplicação
+ */
+@Service
+public class OsStatsService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(OsStatsService.class);
+
+	private static final Status[] STATUS = Status.values();
+	private static final Prioridade[] PRIORIDADES = Prioridade.values();
+
+	private final LongAdder total = new LongAdder();
+	private final LongAdder[] byStatus = newAdders(STATUS.length);
+	private final LongAdder[] byPrioridade = newAdders(PRIORIDADES.length);
+	private final Map<Integer, LongAdder> byTecnico = new ConcurrentHashMap<>();
+
+	@Autowired
+	private OSRepository repository;
+
+	@PostConstruct
+	public void init() {
+		LOG.info("Service - CARREGANDO CONTADORES DE OS");
+		List<Object[]> rows = repository.countGroupByStatusPrioridadeTecnico();
+
+		for (Object[] row : rows) {
+			long count = (Long) row[3];
+			add((Status) row[0], (Prioridade) row[1], (Integer) row[2], count);
+		}
+	}
+
+	public void recordCreated(OS obj) {
+		Status status = obj.getStatus();
+		Prioridade prioridade = obj.getPrioridade();
+		Integer tecnico = obj.getTecnico().getId();
+
+		afterCommit(() -> add(status, prioridade, tecnico, 1));
+	}
+
+	public void recordUpdated(Status oldStatus, Prioridade oldPrioridade, Integer oldTecnico, OS obj) {
+		Status status = obj.getStatus();
+		Prioridade prioridade = obj.getPrioridade();
+		Integer tecnico = obj.getTecnico().getId();
+
+		afterCommit(() -> {
+			add(oldStatus, oldPrioridade, oldTecnico, -1);
+			add(status, prioridade, tecnico, 1);
+		});
+	}
+
+	public OSStatsDTO snapshot() {
+		Map<Status, Long> status = new EnumMap<>(Status.class);
+		for (Status x : STATUS) {
+			status.put(x, byStatus[x.getCod()].sum());
+		}
+
+		Map<Prioridade, Long> prioridade = new EnumMap<>(Prioridade.class);
+		for (Prioridade x : PRIORIDADES) {
+			prioridade.put(x, byPrioridade[x.getCod()].sum());
+		}
+
+		Map<Integer, Long> tecnico = new TreeMap<>();
+		byTecnico.forEach((id, adder) -> {
+			long count = adder.sum();
+			if (count != 0) {
+				tecnico.put(id, count);
+			}
+		});
+
+		return new OSStatsDTO(total.sum(), status, prioridade, tecnico);
+	}
+
+	private void add(Status status, Prioridade prioridade, Integer tecnico, long delta) {
+		total.add(delta);
+		byStatus[status.getCod()].add(delta);
+		byPrioridade[prioridade.getCod()].add(delta);
+		byTecnico.computeIfAbsent(tecnico, id -> new LongAdder()).add(delta);
+	}
+
+	private static LongAdder[] newAdders(int size) {
+		LongAdder[] adders = new LongAdder[size];
+		for (int i = 0; i < size; i++) {
+			adders[i] = new LongAdder();
+		}
+		return adders;
+	}
+
+}
@@ -0,0 +1,226 @@
+package br.ufpb.os.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import br.ufpb.os.dtos.PessoaSuggestDTO;
+
+/*
+ * Índice em memória para sugestões de pessoas (type-ahead), usado por
+ * ClienteService e TecnicoService. Nomes são buscados por prefixo de palavra em
+ * uma árvore ordenada ("joa sil" encontra "João da Silva"); telefones, pelos
+ * dígitos em qualquer posição, com um índice de trigramas ("9874" encontra
+ * "(88) 96345-9874"). Nenhuma sugestão consulta o banco
+ */
+public class PessoaSuggestIndex {
+
+	public static final int DEFAULT_LIMIT = 10;
+	public static final int MAX_LIMIT = 50;
+
+	private static final int GRAM = 3;
+
+	private final Map<Integer, Entry> entries = new HashMap<>();
+	private final NavigableMap<String, Set<Integer>> words = new TreeMap<>();
+	private final Map<String, Set<Integer>> trigrams = new HashMap<>();
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	public void putAll(Collection<PessoaSuggestDTO> list) {
+		lock.writeLock().lock();
+		try {
+			list.forEach(this::doPut);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void put(PessoaSuggestDTO obj) {
+		lock.writeLock().lock();
+		try {
+			doPut(obj);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(Integer id) {
+		lock.writeLock().lock();
+		try {
+			doRemove(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/*
+	 * Até limit pessoas cujo nome tem palavras começando por cada palavra de q, em
+	 * ordem alfabética da palavra encontrada; se q só tiver dígitos (mínimo de 3),
+	 * pessoas cujo telefone contém esses dígitos, em ordem de id
+	 */
+	public List<PessoaSuggestDTO> suggest(String q, Integer limit) {
+		int size = (limit == null || limit < 1) ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+		List<String> terms = TextAnalyzer.words(q);
+		if (terms.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		lock.readLock().lock();
+		try {
+			if (terms.stream().allMatch(PessoaSuggestIndex::isDigits)) {
+				return byTelefone(String.join("", terms), size);
+			}
+			return byNome(terms, size);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private List<PessoaSuggestDTO> byNome(List<String> terms, int size) {
+		/* A palavra mais longa é a mais seletiva e conduz a varredura */
+		String driver = terms.stream().max(Comparator.comparingInt(String::length)).get();
+		Set<Integer> seen = new LinkedHashSet<>();
+
+		for (Set<Integer> ids : words.subMap(driver, true, driver + Character.MAX_VALUE, false).values()) {
+			for (Integer id : ids) {
+				if (!seen.contains(id) && entries.get(id).matches(terms)) {
+					seen.add(id);
+					if (seen.size() == size) {
+						return toList(seen);
+					}
+				}
+			}
+		}
+		return toList(seen);
+	}
+
+	private List<PessoaSuggestDTO> byTelefone(String digits, int size) {
+		List<PessoaSuggestDTO> list = new ArrayList<>();
+		if (digits.length() < GRAM) {
+			return list;
+		}
+
+		/* Candidatos do trigrama menos frequente, conferidos no telefone completo */
+		Set<Integer> candidates = null;
+		for (int i = 0; i + GRAM <= digits.length(); i++) {
+			Set<Integer> ids = trigrams.get(digits.substring(i, i + GRAM));
+			if (ids == null) {
+				return list;
+			}
+			if (candidates == null || ids.size() < candidates.size()) {
+				candidates = ids;
+			}
+		}
+
+		for (Integer id : candidates) {
+			Entry entry = entries.get(id);
+			if (entry.digits.contains(digits)) {
+				list.add(entry.obj);
+				if (list.size() == size) {
+					break;
+				}
+			}
+		}
+		return list;
+	}
+
+	private List<PessoaSuggestDTO> toList(Set<Integer> ids) {
+		List<PessoaSuggestDTO> list = new ArrayList<>(ids.size());
+		for (Integer id : ids) {
+			list.add(entries.get(id).obj);
+		}
+		return list;
+	}
+
+	private void doPut(PessoaSuggestDTO obj) {
+		doRemove(obj.getId());
+		Entry entry = new Entry(obj);
+		entries.put(obj.getId(), entry);
+
+		for (String word : entry.words) {
+			words.computeIfAbsent(word, key -> new TreeSet<>()).add(obj.getId());
+		}
+		for (String gram : entry.trigrams()) {
+			trigrams.computeIfAbsent(gram, key -> new TreeSet<>()).add(obj.getId());
+		}
+	}
+
+	private void doRemove(Integer id) {
+		Entry entry = entries.remove(id);
+		if (entry == null) {
+			return;
+		}
+
+		for (String word : entry.words) {
+			removeFrom(words, word, id);
+		}
+		for (String gram : entry.trigrams()) {
+			removeFrom(trigrams, gram, id);
+		}
+	}
+
+	private static void removeFrom(Map<String, Set<Integer>> map, String key, Integer id) {
+		Set<Integer> ids = map.get(key);
+		if (ids != null && ids.remove(id) && ids.isEmpty()) {
+			map.remove(key);
+		}
+	}
+
+	private static boolean isDigits(String word) {
+		for (int i = 0; i < word.length(); i++) {
+			if (!Character.isDigit(word.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static final class Entry {
+
+		private final PessoaSuggestDTO obj;
+		private final String[] words;
+		private final String digits;
+
+		private Entry(PessoaSuggestDTO obj) {
+			this.obj = obj;
+			this.words = new LinkedHashSet<>(TextAnalyzer.words(obj.getNome())).toArray(new String[0]);
+			this.digits = obj.getTelefone() == null ? "" : obj.getTelefone().replaceAll("\\D", "");
+		}
+
+		private Set<String> trigrams() {
+			Set<String> grams = new LinkedHashSet<>();
+			for (int i = 0; i + GRAM <= digits.length(); i++) {
+				grams.add(digits.substring(i, i + GRAM));
+			}
+			return grams;
+		}
+
+		/* Cada termo da consulta é prefixo de alguma palavra do nome */
+		private boolean matches(List<String> terms) {
+			for (String term : terms) {
+				boolean found = false;
+				for (String word : words) {
+					if (word.startsWith(term)) {
+						found = true;
+						break;
+					}
+				}
+				if (!found) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+}
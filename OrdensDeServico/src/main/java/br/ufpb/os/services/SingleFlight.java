@@ -0,0 +1,61 @@
+package br.ufpb.os.services;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/*
+ * Junta leituras simultâneas da mesma chave: a primeira chamada executa a
+ * consulta e as que chegam enquanto ela está em andamento esperam e recebem o
+ * mesmo resultado (ou a mesma exceção). Nada fica guardado depois que a consulta
+ * termina, então não é um cache; o valor é compartilhado entre as threads e não
+ * deve ser alterado por quem o recebe
+ */
+public class SingleFlight<K, V> {
+
+	private final ConcurrentMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+
+	public V execute(K key, Supplier<V> loader) {
+		CompletableFuture<V> flight = new CompletableFuture<>();
+		CompletableFuture<V> current = flights.putIfAbsent(key, flight);
+		if (current != null) {
+			return join(current);
+		}
+
+		try {
+			V value = loader.get();
+			flight.complete(value);
+			return value;
+		} catch (RuntimeException | Error e) {
+			flight.completeExceptionally(e);
+			throw e;
+		} finally {
+			flights.remove(key, flight);
+		}
+	}
+
+	/*
+	 * Depois de uma escrita confirmada, quem chegar não deve receber o resultado
+	 * de uma consulta iniciada antes dela
+	 */
+	public void forget(K key) {
+		flights.remove(key);
+	}
+
+	private static <V> V join(CompletableFuture<V> flight) {
+		try {
+			return flight.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+}
@@ -0,0 +1,331 @@
+package br.ufpb.os.services;
+
+import static br.ufpb.os.services.AfterCommit.afterCommit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.ufpb.os.config.ReplicaRoutingDataSource;
+import br.ufpb.os.domain.ChangeLog;
+import br.ufpb.os.domain.Cliente;
+import br.ufpb.os.domain.Tecnico;
+import br.ufpb.os.dtos.ClienteDTO;
+import br.ufpb.os.dtos.OSDTO;
+import br.ufpb.os.dtos.SyncDTO;
+import br.ufpb.os.dtos.TecnicoDTO;
+import br.ufpb.os.repositories.ChangeLogRepository;
+import br.ufpb.os.repositories.ClienteRepository;
+import br.ufpb.os.repositories.OSRepository;
+import br.ufpb.os.repositories.TecnicoRepository;
+import br.ufpb.os.services.exceptions.InvalidRequestException;
+import br.ufpb.os.services.exceptions.SyncTokenExpiredException;
+
+/*
+ * Sincronização incremental dos dispositivos dos técnicos. As escritas de
+ * OsService, ClienteService, TecnicoService e ClienteImportService gravam um
+ * ChangeLog na própria transação; GET /sync?since= devolve só o que mudou depois
+ * do token, com o estado atual de cada registro (várias alterações do mesmo
+ * registro viram uma) e tombstones para os removidos. O custo acompanha o número
+ * de alterações, não o tamanho das tabelas.
+ *
+ * O seq de cada ChangeLog é atribuído aqui, sob um advisory lock, só para
+ * registros já confirmados: uma transação longa que confirma depois não pode
+ * ficar com um seq menor que um token já entregue. A numeração roda em segundo
+ * plano, logo após cada commit e a cada assign-interval ms, então GET /sync só
+ * lê. Registros mais antigos que retention-days são removidos a cada
+ * retention-interval ms; um token anterior a eles recebe 410
+ */
+@Service
+public class SyncService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SyncService.class);
+
+	public static final int DEFAULT_LIMIT = 500;
+	public static final int MAX_LIMIT = 5000;
+
+	private static final int ASSIGN_BATCH = 1000;
+	private static final long LOCK_KEY = 0x4F53_5359_4E43L;
+
+	@Autowired
+	private ChangeLogRepository repository;
+
+	@Autowired
+	private OSRepository osRepository;
+
+	@Autowired
+	private ClienteRepository clienteRepository;
+
+	@Autowired
+	private TecnicoRepository tecnicoRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Value("${sync.assign-interval:1000}")
+	private long assignInterval;
+
+	@Value("${sync.retention-days:30}")
+	private long retentionDays;
+
+	@Value("${sync.retention-interval:3600000}")
+	private long retentionInterval;
+
+	private ScheduledExecutorService scheduler;
+
+	private final AtomicBoolean assignRequested = new AtomicBoolean();
+
+	@PostConstruct
+	public void init() {
+		createPendingIndex();
+		scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("sync-"));
+		scheduler.scheduleWithFixedDelay(this::assign, assignInterval, assignInterval, TimeUnit.MILLISECONDS);
+		scheduler.scheduleWithFixedDelay(this::prune, retentionInterval, retentionInterval, TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void destroy() {
+		scheduler.shutdownNow();
+	}
+
+	public void recordSaved(String entity, Integer id) {
+		repository.save(new ChangeLog(entity, id, false));
+		afterCommit(this::requestAssign);
+	}
+
+	public void recordSaved(String entity, Collection<Integer> ids) {
+		repository.saveAll(ids.stream().map(id -> new ChangeLog(entity, id, false)).collect(Collectors.toList()));
+		afterCommit(this::requestAssign);
+	}
+
+	public void recordDeleted(String entity, Integer id) {
+		repository.save(new ChangeLog(entity, id, true));
+		afterCommit(this::requestAssign);
+	}
+
+	/*
+	 * Alterações depois do token since. Sem since, devolve só o token atual: o
+	 * dispositivo guarda o token, carrega as listas completas e passa a pedir as
+	 * alterações a partir dele. Lê do primário: numa réplica atrasada, o token
+	 * devolvido poderia ficar à frente das listas que o dispositivo carrega em
+	 * seguida
+	 */
+	public SyncDTO changes(String since, Integer limit) {
+		return ReplicaRoutingDataSource.onPrimary(() -> read(since, limit));
+	}
+
+	private SyncDTO read(String since, Integer limit) {
+		if (since == null || since.isBlank()) {
+			return new SyncDTO(String.valueOf(repository.findMaxSeq()));
+		}
+
+		long from = parseToken(since);
+		Long min = repository.findMinSeq();
+		if (min != null && from + 1 < min) {
+			throw new SyncTokenExpiredException("Token de sincronização expirado: " + since
+					+ ". Recarregue as listas completas e sincronize a partir de um novo token");
+		}
+
+		int size = limit == null || limit < 1 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+		List<ChangeLog> list = repository.findAfter(from, PageRequest.of(0, size + 1));
+
+		SyncDTO result = new SyncDTO();
+		result.setHasMore(list.size() > size);
+		if (result.isHasMore()) {
+			list = list.subList(0, size);
+		}
+		result.setNext(String.valueOf(list.isEmpty() ? from : list.get(list.size() - 1).getSeq()));
+
+		/* Última alteração de cada registro: true se ele foi removido */
+		Map<String, Map<Integer, Boolean>> changes = new LinkedHashMap<>();
+		for (ChangeLog obj : list) {
+			changes.computeIfAbsent(obj.getEntity(), entity -> new LinkedHashMap<>()).put(obj.getEntityId(),
+					obj.isDeleted());
+		}
+
+		Set<Integer> os = saved(changes.get(ChangeLog.OS));
+		if (!os.isEmpty()) {
+			result.setOs(osRepository.findDTOByIdIn(os));
+			os.removeAll(result.getOs().stream().map(OSDTO::getId).collect(Collectors.toSet()));
+		}
+		result.getDeletedOs().addAll(deleted(changes.get(ChangeLog.OS), os));
+
+		Set<Integer> clientes = saved(changes.get(ChangeLog.CLIENTE));
+		if (!clientes.isEmpty()) {
+			List<Cliente> found = clienteRepository.findAllById(clientes);
+			result.setClientes(found.stream().map(ClienteDTO::new).collect(Collectors.toList()));
+			clientes.removeAll(found.stream().map(Cliente::getId).collect(Collectors.toSet()));
+		}
+		result.getDeletedClientes().addAll(deleted(changes.get(ChangeLog.CLIENTE), clientes));
+
+		Set<Integer> tecnicos = saved(changes.get(ChangeLog.TECNICO));
+		if (!tecnicos.isEmpty()) {
+			List<Tecnico> found = tecnicoRepository.findAllById(tecnicos);
+			result.setTecnicos(found.stream().map(TecnicoDTO::new).collect(Collectors.toList()));
+			tecnicos.removeAll(found.stream().map(Tecnico::getId).collect(Collectors.toSet()));
+		}
+		result.getDeletedTecnicos().addAll(deleted(changes.get(ChangeLog.TECNICO), tecnicos));
+
+		return result;
+	}
+
+	/*
+	 * Agenda uma numeração logo após o commit; pedidos feitos enquanto uma já
+	 * está na fila são atendidos por ela
+	 */
+	private void requestAssign() {
+		if (assignRequested.compareAndSet(false, true)) {
+			try {
+				scheduler.execute(this::assign);
+			} catch (RuntimeException e) {
+				assignRequested.set(false);
+				LOG.warn("Service - NUMERAÇÃO NÃO AGENDADA: {}", e.getMessage());
+			}
+		}
+	}
+
+	private void assign() {
+		assignRequested.set(false);
+		try {
+			assignPending();
+		} catch (RuntimeException e) {
+			LOG.warn("Service - FALHA AO NUMERAR ALTERAÇÕES PARA SINCRONIZAÇÃO", e);
+		}
+	}
+
+	/*
+	 * Numera os registros confirmados ainda sem seq, continuando do maior seq já
+	 * atribuído. O lock vale até o fim da transação, então duas instâncias nunca
+	 * numeram ao mesmo tempo
+	 */
+	private void assignPending() {
+		if (!repository.existsBySeqIsNull()) {
+			return;
+		}
+
+		Long assigned = transactionTemplate.execute(status -> {
+			repository.lock(LOCK_KEY);
+			long seq = repository.findMaxSeq();
+			long count = 0;
+
+			List<ChangeLog> pending;
+			while (!(pending = repository.findPending(PageRequest.of(0, ASSIGN_BATCH))).isEmpty()) {
+				for (ChangeLog obj : pending) {
+					obj.setSeq(++seq);
+				}
+				entityManager.flush();
+				entityManager.clear();
+				count += pending.size();
+			}
+			return count;
+		});
+		LOG.debug("Service - {} ALTERAÇÕES NUMERADAS PARA SINCRONIZAÇÃO", assigned);
+	}
+
+	/*
+	 * Remove os registros mais antigos que retentionDays, sob o mesmo lock da
+	 * numeração, que continua do maior seq
+	 */
+	private void prune() {
+		try {
+			LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+			Integer removed = transactionTemplate.execute(status -> {
+				repository.lock(LOCK_KEY);
+				return repository.deleteExpired(cutoff);
+			});
+			if (removed != null && removed > 0) {
+				LOG.info("Service - {} ALTERAÇÕES ANTERIORES A {} REMOVIDAS", removed, cutoff);
+			}
+		} catch (RuntimeException e) {
+			LOG.warn("Service - FALHA AO REMOVER ALTERAÇÕES ANTIGAS", e);
+		}
+	}
+
+	/*
+	 * Índice parcial só com os registros sem seq: existsBySeqIsNull e findPending
+	 * leem apenas os ainda não numerados, sem percorrer a tabela. O ddl-auto não
+	 * cria índices parciais
+	 */
+	private void createPendingIndex() {
+		try {
+			transactionTemplate.executeWithoutResult(status -> entityManager
+					.createNativeQuery("CREATE INDEX IF NOT EXISTS idx_change_log_pending ON change_log (id) WHERE seq IS NULL")
+					.executeUpdate());
+		} catch (RuntimeException e) {
+			LOG.warn("Service - ÍNDICE idx_change_log_pending NÃO CRIADO: {}", e.getMessage());
+		}
+	}
+
+	private static Set<Integer> saved(Map<Integer, Boolean> changes) {
+		Set<Integer> ids = new HashSet<>();
+		if (changes != null) {
+			changes.forEach((id, deleted) -> {
+				if (!deleted) {
+					ids.add(id);
+				}
+			});
+		}
+		return ids;
+	}
+
+	/*
+	 * Ids removidos, somados aos alterados que não existem mais
+	 */
+	private static List<Integer> deleted(Map<Integer, Boolean> changes, Set<Integer> missing) {
+		List<Integer> ids = new ArrayList<>(missing);
+		if (changes != null) {
+			changes.forEach((id, deleted) -> {
+				if (deleted) {
+					ids.add(id);
+				}
+			});
+		}
+		return ids;
+	}
+
+	private static ThreadFactory daemonThreads(String prefix) {
+		AtomicInteger count = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	private static long parseToken(String since) {
+		try {
+			return Long.parseLong(since.trim());
+		} catch (NumberFormatException e) {
+			throw new InvalidRequestException("Token de sincronização inválido: " + since);
+		}
+	}
+
+}
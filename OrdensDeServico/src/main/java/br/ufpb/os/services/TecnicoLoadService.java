@@ -0,0 +1,182 @@
+package br.ufpb.os.services;
+
+import static br.ufpb.os.services.AfterCommit.afterCommit;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import br.ufpb.os.domain.OS;
+import br.ufpb.os.domain.enuns.Prioridade;
+import br.ufpb.os.domain.enuns.Status;
+import br.ufpb.os.repositories.OSRepository;
+import br.ufpb.os.repositories.TecnicoRepository;
+import br.ufpb.os.services.exceptions.DataIntegratyViolationException;
+
+/*
+ * Carga de trabalho de cada técnico: soma dos pesos das OS abertas ou em
+ * andamento, com peso 1, 2 e 3 para prioridade BAIXA, MEDIA e ALTA. Os técnicos
+ * ficam ordenados por (carga, id) em uma árvore, então escolher o menos carregado
+ * e atualizar sua carga custa O(log n), sem consulta ao banco. Carregada na
+ * inicialização e mantida pelas escritas de OsService e TecnicoService desta
+ * instância
+ */
+@Service
+public class TecnicoLoadService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(TecnicoLoadService.class);
+
+	private final Map<Integer, Long> loads = new HashMap<>();
+	private final TreeSet<Load> queue = new TreeSet<>();
+
+	@Autowired
+	private TecnicoRepository tecnicoRepository;
+
+	@Autowired
+	private OSRepository osRepository;
+
+	@PostConstruct
+	public synchronized void init() {
+		LOG.info("Service - CARREGANDO CARGA DE TRABALHO DOS TÉCNICOS");
+		for (Integer id : tecnicoRepository.findAllIds()) {
+			set(id, 0);
+		}
+
+		List<Object[]> rows = osRepository.countGroupByStatusPrioridadeTecnico();
+		for (Object[] row : rows) {
+			long weight = weight((Status) row[0], (Prioridade) row[1]);
+			add((Integer) row[2], weight * (Long) row[3]);
+		}
+	}
+
+	/*
+	 * Escolhe o técnico com menor carga e já reserva o peso da nova OS para ele,
+	 * de forma que criações simultâneas se distribuam entre os técnicos
+	 */
+	public synchronized Integer assign(Status status, Prioridade prioridade) {
+		if (queue.isEmpty()) {
+			throw new DataIntegratyViolationException("Nenhum técnico disponível para atribuição automática!");
+		}
+
+		Integer id = queue.first().id;
+		add(id, weight(status, prioridade));
+		return id;
+	}
+
+	/*
+	 * Desfaz a reserva feita por assign quando a transação que grava a OS é
+	 * revertida (ver OsService.create)
+	 */
+	public synchronized void release(Integer tecnico, Status status, Prioridade prioridade) {
+		add(tecnico, -weight(status, prioridade));
+	}
+
+	public void recordCreated(OS obj) {
+		Integer tecnico = obj.getTecnico().getId();
+		long weight = weight(obj.getStatus(), obj.getPrioridade());
+
+		afterCommit(() -> add(tecnico, weight));
+	}
+
+	public void recordUpdated(Status oldStatus, Prioridade oldPrioridade, Integer oldTecnico, OS obj) {
+		Integer tecnico = obj.getTecnico().getId();
+		long oldWeight = weight(oldStatus, oldPrioridade);
+		long weight = weight(obj.getStatus(), obj.getPrioridade());
+
+		afterCommit(() -> {
+			add(oldTecnico, -oldWeight);
+			add(tecnico, weight);
+		});
+	}
+
+	public void addTecnico(Integer id) {
+		afterCommit(() -> {
+			synchronized (this) {
+				if (!loads.containsKey(id)) {
+					set(id, 0);
+				}
+			}
+		});
+	}
+
+	public void removeTecnico(Integer id) {
+		afterCommit(() -> {
+			synchronized (this) {
+				Long load = loads.remove(id);
+				if (load != null) {
+					queue.remove(new Load(id, load));
+				}
+			}
+		});
+	}
+
+	public synchronized Map<Integer, Long> snapshot() {
+		return new HashMap<>(loads);
+	}
+
+	public static long weight(Status status, Prioridade prioridade) {
+		if (status == Status.ENCERRADO) {
+			return 0;
+		}
+		return prioridade == null ? 1 : prioridade.getCod() + 1;
+	}
+
+	/*
+	 * Só altera técnicos que ainda estão na fila: uma liberação ou alteração que
+	 * chega depois de removeTecnico não recoloca um técnico removido
+	 */
+	private synchronized void add(Integer id, long delta) {
+		Long load = loads.get(id);
+		if (delta != 0 && load != null) {
+			set(id, load + delta);
+		}
+	}
+
+	private void set(Integer id, long load) {
+		Long old = loads.put(id, load);
+		if (old != null) {
+			queue.remove(new Load(id, old));
+		}
+		queue.add(new Load(id, load));
+	}
+
+	private static final class Load implements Comparable<Load> {
+
+		private final Integer id;
+		private final long load;
+
+		private Load(Integer id, long load) {
+			this.id = id;
+			this.load = load;
+		}
+
+		@Override
+		public int compareTo(Load other) {
+			int result = Long.compare(load, other.load);
+			return result != 0 ? result : id.compareTo(other.id);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Load)) {
+				return false;
+			}
+			Load other = (Load) obj;
+			return load == other.load && id.equals(other.id);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * id.hashCode() + Long.hashCode(load);
+		}
+	}
+
+}
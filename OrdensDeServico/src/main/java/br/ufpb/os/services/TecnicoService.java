@@ -1,23 +1,39 @@
 package br.ufpb.os.services;
 
+import static br.ufpb.os.services.AfterCommit.afterCommit;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+import javax.annotation.PostConstruct;
 import javax.validation.Valid;
 
+import br.ufpb.os.config.CacheConfig;
+import br.ufpb.os.domain.ChangeLog;
 import br.ufpb.os.domain.Pessoa;
 import br.ufpb.os.domain.Tecnico;
+import br.ufpb.os.dtos.Cursor;
+import br.ufpb.os.dtos.CursorPageDTO;
+import br.ufpb.os.dtos.PessoaSuggestDTO;
 import br.ufpb.os.dtos.TecnicoDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 //import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import br.ufpb.os.repositories.PessoaRepository;
 import br.ufpb.os.repositories.TecnicoRepository;
 import br.ufpb.os.services.exceptions.DataIntegratyViolationException;
 import br.ufpb.os.services.exceptions.ObjectNotFoundException;
+import br.ufpb.os.services.exceptions.PreconditionFailedException;
 
 @Service
 public class TecnicoService {
@@ -30,12 +46,33 @@ public class TecnicoService {
 	@Autowired
 	private PessoaRepository pessoaRepository;
 
+	@Autowired
+	private TecnicoLoadService loadService;
+
+	@Autowired
+	private SyncService syncService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	private final PessoaSuggestIndex suggestIndex = new PessoaSuggestIndex();
+
 //	@Autowired
 //	private BCryptPasswordEncoder encoder;
 
+	@PostConstruct
+	public void loadSuggestIndex() {
+		log.info("SERVICE - CARREGANDO ÍNDICE DE SUGESTÕES DE TÉCNICOS");
+		suggestIndex.putAll(repository.findAllSuggest());
+	}
+
 	/*
-	 * Busca Tecnico pelo ID
+	 * Busca Tecnico pelo ID, sempre no banco e sem juntar buscas simultâneas: a
+	 * entidade devolvida pertence ao contexto de persistência de quem chamou
+	 * (update e delete a alteram) e não pode ser dividida entre threads. As
+	 * leituras da API passam por findDTOById
 	 */
+	@Transactional(readOnly = true)
 	public Tecnico findById(Integer id) {
 		log.info("SERVICE - BUSCANDO TÉCNICO POR ID");
 		Optional<Tecnico> obj = repository.findById(id);
@@ -43,17 +80,53 @@ public class TecnicoService {
 				"Objeto não encontrado! Id: " + id + ", Tipo: " + Tecnico.class.getName()));
 	}
 
+	/*
+	 * Busca Tecnico pelo ID como TecnicoDTO. O resultado fica no cache
+	 * "tecnicos": é uma cópia desligada do contexto de persistência, removida
+	 * depois que update ou delete são confirmados. Com sync, buscas simultâneas
+	 * pelo mesmo id fora do cache fazem uma única consulta
+	 */
+	@Cacheable(value = CacheConfig.TECNICOS, sync = true)
+	@Transactional(readOnly = true)
+	public TecnicoDTO findDTOById(Integer id) {
+		return new TecnicoDTO(findById(id));
+	}
+
 	/*
 	 * Busca todos os Tecnicos da base de dados
 	 */
+	@Transactional(readOnly = true)
 	public List<Tecnico> findAll() {
 		log.info("SERVICE - BUSCANDO TODOS OD TÉCNICOS");
 		return repository.findAll();
 	}
 
+	/*
+	 * Busca vários Tecnicos em uma única consulta IN
+	 */
+	@Transactional(readOnly = true)
+	public List<Tecnico> findAllById(Collection<Integer> ids) {
+		log.info("SERVICE - BUSCANDO TÉCNICOS POR IDS");
+		return repository.findAllById(ids);
+	}
+
+	/*
+	 * Busca uma página de Tecnicos a partir do cursor, sem OFFSET nem count(*)
+	 */
+	@Transactional(readOnly = true)
+	public CursorPageDTO<Tecnico> findPage(String after, Integer limit) {
+		log.info("SERVICE - BUSCANDO PÁGINA DE TÉCNICOS");
+		int size = CursorPageDTO.clamp(limit);
+		Cursor cursor = Cursor.decode(after, Cursor.SORT_ID);
+
+		List<Tecnico> list = repository.findPageAfter(cursor == null ? 0 : cursor.getId(), PageRequest.of(0, size + 1));
+		return CursorPageDTO.of(list, size, obj -> new Cursor(Cursor.SORT_ID, null, obj.getId()).encode());
+	}
+
 	/*
 	 * Cria um Tecnico
 	 */
+	@Transactional
 	public Tecnico create(TecnicoDTO objDTO) {
 		log.info("SERVICE - CRIANDO NOVO TÉCNICO");
 		if (findByCPF(objDTO) != null) {
@@ -67,15 +140,26 @@ public class TecnicoService {
 //			newTec.addPerfil(Perfil.ADMIN);
 //		}
 
-		return repository.save(newTec);
+		newTec = repository.save(newTec);
+		syncService.recordSaved(ChangeLog.TECNICO, newTec.getId());
+		loadService.addTecnico(newTec.getId());
+		PessoaSuggestDTO suggestion = toSuggest(newTec);
+		afterCommit(() -> suggestIndex.put(suggestion));
+		return newTec;
 	}
 
 	/*
-	 * Atualiza um Tecnico
+	 * Atualiza um Tecnico. Com versions (If-Match) informadas, falha se a versão
+	 * atual do técnico não estiver entre elas
 	 */
-	public Tecnico update(Integer id, @Valid TecnicoDTO objDTO) {
+	@Transactional
+	public Tecnico update(Integer id, @Valid TecnicoDTO objDTO, Set<Integer> versions) {
 		log.info("SERVICE - ATUALIZANDO TÉCNICO");
 		Tecnico oldObj = findById(id);
+		if (versions != null && !versions.contains(oldObj.getVersion())) {
+			throw new PreconditionFailedException("Técnico alterado por outra requisição! Versão atual: "
+					+ oldObj.getVersion());
+		}
 
 		if (findByCPF(objDTO) != null && findByCPF(objDTO).getId() != id) {
 			throw new DataIntegratyViolationException("CPF já cadastrado na base de dados!");
@@ -87,12 +171,18 @@ public class TecnicoService {
 //		if (objDTO.getPerfis().contains(Perfil.ADMIN)) {
 //			oldObj.addPerfil(Perfil.ADMIN);
 //		}
-		return repository.save(oldObj);
+		oldObj = repository.save(oldObj);
+		syncService.recordSaved(ChangeLog.TECNICO, oldObj.getId());
+		PessoaSuggestDTO suggestion = toSuggest(oldObj);
+		afterCommit(() -> suggestIndex.put(suggestion));
+		evict(id);
+		return oldObj;
 	}
 
 	/*
 	 * Deleta um Tecnico pelo ID
 	 */
+	@Transactional
 	public void delete(Integer id) {
 		log.info("SERVICE - DELETANDO TÉCNICO");
 		Tecnico obj = findById(id);
@@ -102,6 +192,43 @@ public class TecnicoService {
 		}
 
 		repository.deleteById(id);
+		syncService.recordDeleted(ChangeLog.TECNICO, id);
+		loadService.removeTecnico(id);
+		afterCommit(() -> suggestIndex.remove(id));
+		evict(id);
+	}
+
+	/*
+	 * Tira o técnico do cache duas vezes. A remoção imediata faz as leituras durante
+	 * a transação irem ao banco em vez de servir a cópia guardada. Essas leituras
+	 * ainda veem a linha anterior ao commit e podem guardá-la de novo, então a
+	 * remoção depois da confirmação descarta o que entrou nesse intervalo: o
+	 * invalidate do Caffeine espera uma carga em andamento do mesmo id (sync =
+	 * true), e uma carga que começa depois do commit já lê a versão nova. Chavear o
+	 * cache pela @Version não serviria, porque GET /{id} não sabe a versão atual
+	 */
+	private void evict(Integer id) {
+		evictNow(id);
+		afterCommit(() -> evictNow(id));
+	}
+
+	private void evictNow(Integer id) {
+		Cache cache = cacheManager.getCache(CacheConfig.TECNICOS);
+		if (cache != null) {
+			cache.evict(id);
+		}
+	}
+
+	/*
+	 * Sugestões por prefixo do nome ou parte do telefone, servidas do índice em
+	 * memória
+	 */
+	public List<PessoaSuggestDTO> suggest(String q, Integer limit) {
+		return suggestIndex.suggest(q, limit);
+	}
+
+	private static PessoaSuggestDTO toSuggest(Tecnico obj) {
+		return new PessoaSuggestDTO(obj.getId(), obj.getNome(), obj.getCpf(), obj.getTelefone());
 	}
 
 	/*
@@ -109,7 +236,7 @@ public class TecnicoService {
 	 */
 	private Pessoa findByCPF(TecnicoDTO objDTO) {
 		log.info("SERVICE - ANALIZANDO SE O CPF ESTÁ CADASTRADO NO BANCO");
-		Pessoa obj = pessoaRepository.findByCPF(objDTO.getCpf());
+		Pessoa obj = pessoaRepository.findByCPF(Pessoa.formatCpf(objDTO.getCpf()));
 
 		if (obj != null) {
 			return obj;
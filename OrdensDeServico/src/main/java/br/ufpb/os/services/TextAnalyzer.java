@@ -0,0 +1,117 @@
+package br.ufpb.os.services;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/*
+ * Normalização de texto em português para os índices em memória: minúsculas,
+ * remoção de acentos (ç vira c), descarte de stopwords e redução de plurais
+ * ("fontes" -> "fonte", "conexões" -> "conexao"), para que a busca encontre o
+ * termo independente de acento ou número
+ */
+public final class TextAnalyzer {
+
+	private static final Set<String> STOPWORDS = Set.of("a", "o", "as", "os", "ao", "aos", "de", "da", "do", "das",
+			"dos", "e", "em", "na", "no", "nas", "nos", "um", "uma", "uns", "umas", "para", "pra", "por", "pela", "pelo",
+			"pelas", "pelos", "com", "sem", "que", "se", "ou", "mas", "foi", "ser", "esta", "este", "isso");
+
+	private TextAnalyzer() {
+	}
+
+	/*
+	 * Minúsculas sem acentos, mantendo os demais caracteres
+	 */
+	public static String fold(String text) {
+		if (text == null) {
+			return "";
+		}
+
+		if (isAscii(text)) {
+			return text.toLowerCase(Locale.ROOT);
+		}
+
+		String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+		StringBuilder folded = new StringBuilder(decomposed.length());
+		for (int i = 0; i < decomposed.length(); i++) {
+			char c = decomposed.charAt(i);
+			if (Character.getType(c) != Character.NON_SPACING_MARK) {
+				folded.append(Character.toLowerCase(c));
+			}
+		}
+		return folded.toString();
+	}
+
+	/*
+	 * Termos indexáveis do texto, na ordem em que aparecem (com repetições)
+	 */
+	public static List<String> terms(String text) {
+		List<String> terms = new ArrayList<>();
+		for (String word : words(text)) {
+			if (!STOPWORDS.contains(word)) {
+				terms.add(stem(word));
+			}
+		}
+		return terms;
+	}
+
+	/*
+	 * Palavras do texto (sequências de letras e dígitos) já normalizadas por fold,
+	 * sem descartar stopwords nem reduzir plurais
+	 */
+	public static List<String> words(String text) {
+		String folded = fold(text);
+		List<String> words = new ArrayList<>();
+		int start = -1;
+
+		for (int i = 0; i <= folded.length(); i++) {
+			boolean letterOrDigit = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+			if (letterOrDigit && start < 0) {
+				start = i;
+			} else if (!letterOrDigit && start >= 0) {
+				words.add(folded.substring(start, i));
+				start = -1;
+			}
+		}
+		return words;
+	}
+
+	private static boolean isAscii(String text) {
+		for (int i = 0; i < text.length(); i++) {
+			if (text.charAt(i) >= 128) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/*
+	 * Redução mínima de plural do português, aplicada sobre o texto já sem acentos
+	 */
+	static String stem(String token) {
+		int length = token.length();
+		if (length <= 3 || !token.endsWith("s") || Character.isDigit(token.charAt(0))) {
+			return token;
+		}
+
+		if (token.endsWith("oes") || token.endsWith("aes")) {
+			return token.substring(0, length - 3) + "ao";
+		}
+		if (token.endsWith("ais") || token.endsWith("eis") || token.endsWith("ois")) {
+			return token.substring(0, length - 2) + "l";
+		}
+		if (token.endsWith("ns")) {
+			return token.substring(0, length - 2) + "m";
+		}
+		if (token.endsWith("ss") || token.endsWith("us") || token.endsWith("is")) {
+			return token;
+		}
+		if (token.endsWith("res") || token.endsWith("zes")) {
+			return token.substring(0, length - 2);
+		}
+		return token.substring(0, length - 1);
+	}
+
+}
@@ -0,0 +1,14 @@
+package br.ufpb.os.services.exceptions;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	public IdempotencyKeyReusedException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+	public IdempotencyKeyReusedException(String message) {
+		super(message);
+	}
+
+}
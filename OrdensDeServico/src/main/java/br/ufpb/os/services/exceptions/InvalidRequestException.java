@@ -0,0 +1,14 @@
+package br.ufpb.os.services.exceptions;
+
+public class InvalidRequestException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	public InvalidRequestException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+	public InvalidRequestException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,14 @@
+package br.ufpb.os.services.exceptions;
+
+public class PreconditionFailedException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	public PreconditionFailedException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+	public PreconditionFailedException(String message) {
+		super(message);
+	}
+
+}
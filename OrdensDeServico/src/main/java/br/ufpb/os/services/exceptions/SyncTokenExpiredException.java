@@ -0,0 +1,14 @@
+package br.ufpb.os.services.exceptions;
+
+public class SyncTokenExpiredException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	public SyncTokenExpiredException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+	public SyncTokenExpiredException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,81 @@
+package br.ufpb.os.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MetricsConfigTest {
+
+    interface SampleRepository extends Repository<Object, Integer> {
+        String find(boolean fail);
+    }
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger registrations = new AtomicInteger();
+
+    private SampleRepository repository;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public Meter.Id map(Meter.Id id) {
+                registrations.incrementAndGet();
+                return id;
+            }
+        });
+
+        ObjectProvider<MeterRegistry> provider = Mockito.mock(ObjectProvider.class);
+        Mockito.when(provider.getIfAvailable()).thenReturn(registry);
+
+        ProxyFactory factory = new ProxyFactory(new Class<?>[] { SampleRepository.class });
+        factory.setTarget((SampleRepository) fail -> {
+            if (fail) {
+                throw new IllegalStateException("falha");
+            }
+            return "ok";
+        });
+        BeanPostProcessor processor = MetricsConfig.repositoryMetricsPostProcessor(provider);
+        repository = (SampleRepository) processor.postProcessAfterInitialization(factory.getProxy(), "sampleRepository");
+    }
+
+    @Test
+    void invoke_RegistersTimerOnce_WhenMethodIsCalledRepeatedly() {
+        for (int i = 0; i < 3; i++) {
+            repository.find(false);
+        }
+
+        Timer timer = registry.get(MetricsConfig.REPOSITORY_INVOCATIONS)
+                .tags("repository", "SampleRepository", "method", "find", "state", "SUCCESS", "exception", "none")
+                .timer();
+        Assertions.assertThat(timer.count()).isEqualTo(3);
+        Assertions.assertThat(registrations.get()).isEqualTo(1);
+    }
+
+    @Test
+    void invoke_RecordsErrorByException_WhenMethodThrows() {
+        for (int i = 0; i < 2; i++) {
+            Assertions.assertThatThrownBy(() -> repository.find(true)).isInstanceOf(IllegalStateException.class);
+        }
+        repository.find(false);
+
+        Timer timer = registry.get(MetricsConfig.REPOSITORY_INVOCATIONS)
+                .tags("state", "ERROR", "exception", "IllegalStateException")
+                .timer();
+        Assertions.assertThat(timer.count()).isEqualTo(2);
+        Assertions.assertThat(registrations.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,108 @@
+package br.ufpb.os.config;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = Mockito.mock(DataSource.class);
+    private final DataSource replica1 = Mockito.mock(DataSource.class);
+    private final DataSource replica2 = Mockito.mock(DataSource.class);
+
+    private final Connection primaryConnection = connection();
+    private final Connection replica1Connection = connection();
+    private final Connection replica2Connection = connection();
+
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Mockito.when(primary.getConnection()).thenReturn(primaryConnection);
+        Mockito.when(replica1.getConnection()).thenReturn(replica1Connection);
+        Mockito.when(replica2.getConnection()).thenReturn(replica2Connection);
+
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2), 3_600_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReplicaRoutingDataSource.unpinPrimary();
+        routing.close();
+    }
+
+    @Test
+    void getConnection_UsesPrimary_OutsideReadOnlyTransactions() throws SQLException {
+        Assertions.assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void getConnection_RoundRobinsReplicas_InReadOnlyTransactions() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        Assertions.assertThat(List.of(routing.getConnection(), routing.getConnection(), routing.getConnection()))
+                .containsExactly(replica1Connection, replica2Connection, replica1Connection);
+    }
+
+    @Test
+    void getConnection_UsesPrimary_WhenPinned() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        Assertions.assertThat(ReplicaRoutingDataSource.onPrimary(this::connectionOf)).isSameAs(primaryConnection);
+        Assertions.assertThat(ReplicaRoutingDataSource.isPrimaryPinned()).isFalse();
+        Assertions.assertThat(routing.getConnection()).isIn(replica1Connection, replica2Connection);
+    }
+
+    @Test
+    void getConnection_SkipsFailedReplica_UntilHealthCheckSucceeds() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Mockito.when(replica1.getConnection()).thenThrow(new SQLException("fora do ar"));
+
+        Assertions.assertThat(routing.getConnection()).isSameAs(replica2Connection);
+        Assertions.assertThat(routing.getConnection()).isSameAs(replica2Connection);
+        Assertions.assertThat(routing.getConnection()).isSameAs(replica2Connection);
+        Mockito.verify(replica1, Mockito.times(2)).getConnection();
+
+        Mockito.doReturn(replica1Connection).when(replica1).getConnection();
+        routing.checkReplicas();
+        Assertions.assertThat(List.of(routing.getConnection(), routing.getConnection()))
+                .containsExactlyInAnyOrder(replica1Connection, replica2Connection);
+    }
+
+    @Test
+    void getConnection_FallsBackToPrimary_WhenNoReplicaIsAvailable() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Mockito.when(replica1.getConnection()).thenThrow(new SQLException("fora do ar"));
+        Mockito.when(replica2.getConnection()).thenThrow(new SQLException("fora do ar"));
+        routing.checkReplicas();
+
+        Assertions.assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    }
+
+    private Connection connectionOf() {
+        try {
+            return routing.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Connection connection() {
+        Connection connection = Mockito.mock(Connection.class);
+        try {
+            Mockito.when(connection.isValid(Mockito.anyInt())).thenReturn(true);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return connection;
+    }
+}
@@ -0,0 +1,34 @@
+package br.ufpb.os.controller;
+
+import br.ufpb.os.services.exceptions.InvalidRequestException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ETagsTest {
+
+    @Test
+    void versions_ReturnsNull_WhenHeaderIsAbsentOrWildcard() {
+        Assertions.assertThat(ETags.versions(null)).isNull();
+        Assertions.assertThat(ETags.versions(" ")).isNull();
+        Assertions.assertThat(ETags.versions("*")).isNull();
+    }
+
+    @Test
+    void versions_ReturnsSingleVersion_WhenHeaderHasOneTag() {
+        Assertions.assertThat(ETags.versions("\"3\"")).containsExactly(3);
+        Assertions.assertThat(ETags.versions("W/\"3\"")).containsExactly(3);
+    }
+
+    @Test
+    void versions_ReturnsEveryVersion_WhenHeaderListsSeveralTags() {
+        Assertions.assertThat(ETags.versions("\"3\", \"4\"")).containsExactly(3, 4);
+        Assertions.assertThat(ETags.versions("\"3\",W/\"5\"")).containsExactly(3, 5);
+    }
+
+    @Test
+    void versions_ThrowsInvalidRequestException_WhenAnyTagIsNotAVersion() {
+        Assertions.assertThatThrownBy(() -> ETags.versions("\"3\", \"abc\""))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("If-Match inválido! \"3\", \"abc\"");
+    }
+}
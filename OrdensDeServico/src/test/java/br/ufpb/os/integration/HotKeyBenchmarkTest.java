@@ -0,0 +1,166 @@
+package br.ufpb.os.integration;
+
+import br.ufpb.os.config.CacheConfig;
+import br.ufpb.os.config.ContainersEnvironment;
+import br.ufpb.os.repositories.ClienteRepository;
+import br.ufpb.os.repositories.OSRepository;
+import br.ufpb.os.repositories.TecnicoRepository;
+import br.ufpb.os.services.ClienteService;
+import br.ufpb.os.services.OsService;
+import br.ufpb.os.services.TecnicoService;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/*
+ * Leituras simultâneas da mesma chave, como na troca de turno em que centenas de
+ * técnicos abrem a mesma OS: a cada rodada THREADS threads buscam o mesmo id ao
+ * mesmo tempo (com os caches de técnicos e clientes vazios). Compara o número de
+ * consultas ao banco e a latência das buscas dos services, que juntam as
+ * consultas em andamento, com as chamadas diretas aos repositórios. Fica fora do
+ * build normal: rodar com mvn test -Pbenchmark -Dtest=HotKeyBenchmarkTest
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class HotKeyBenchmarkTest extends ContainersEnvironment {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HotKeyBenchmarkTest.class);
+
+    private static final int THREADS = Integer.getInteger("hotkey.threads", 200);
+    private static final int ROUNDS = Integer.getInteger("hotkey.rounds", 50);
+    private static final int WARMUP = 5;
+    private static final int ID = 30_000_001;
+
+    @Autowired
+    private OsService osService;
+
+    @Autowired
+    private TecnicoService tecnicoService;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private OSRepository osRepository;
+
+    @Autowired
+    private TecnicoRepository tecnicoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ExecutorService executor;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO pessoa (dtype, id, nome, cpf, telefone, perfis, version)"
+                + " VALUES ('Tecnico', ?, 'tecnico hotkey', 'hotkey-t', 'telefone', 2, 0)", ID);
+        jdbcTemplate.update("INSERT INTO pessoa (dtype, id, nome, cpf, telefone, perfis, version)"
+                + " VALUES ('Cliente', ?, 'cliente hotkey', 'hotkey-c', 'telefone', 2, 0)", ID + 1);
+        jdbcTemplate.update("INSERT INTO os (id, data_abertura, prioridade, status, observacoes, tecnico_id,"
+                + " cliente_id, version) VALUES (?, now(), 2, 0, 'hotkey', ?, ?, 0)", ID, ID, ID + 1);
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        executor.shutdownNow();
+        jdbcTemplate.update("DELETE FROM os WHERE id = ?", ID);
+        jdbcTemplate.update("DELETE FROM pessoa WHERE id IN (?, ?)", ID, ID + 1);
+    }
+
+    @Test
+    void hotKeyReads_QueryCountWithAndWithoutCoalescing() throws Exception {
+        long direct = measure("GET /os/{id} direto no repositório", () -> osRepository.findDTOById(ID));
+        long coalesced = measure("GET /os/{id} pelo OsService", () -> osService.findDTOById(ID));
+        Assertions.assertThat(coalesced).isLessThan(direct);
+
+        direct = measure("GET /tecnicos/{id} direto no repositório", () -> tecnicoRepository.findById(ID));
+        coalesced = measure("GET /tecnicos/{id} pelo TecnicoService", () -> tecnicoService.findDTOById(ID));
+        Assertions.assertThat(coalesced).isLessThan(direct);
+
+        direct = measure("GET /clientes/{id} direto no repositório", () -> clienteRepository.findById(ID + 1));
+        coalesced = measure("GET /clientes/{id} pelo ClienteService", () -> clienteService.findDTOById(ID + 1));
+        Assertions.assertThat(coalesced).isLessThan(direct);
+    }
+
+    /*
+     * Devolve o número de consultas feitas nas rodadas medidas
+     */
+    private long measure(String name, Runnable read) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (int i = 0; i < WARMUP; i++) {
+            round(read);
+        }
+
+        long[] nanos = new long[ROUNDS * THREADS];
+        long queries = statistics.getPrepareStatementCount();
+        for (int i = 0; i < ROUNDS; i++) {
+            System.arraycopy(round(read), 0, nanos, i * THREADS, THREADS);
+        }
+        queries = statistics.getPrepareStatementCount() - queries;
+        Arrays.sort(nanos);
+
+        LOG.info("BENCHMARK - {}: {} leituras, {} consultas, p50 {} ms, p99 {} ms", name, nanos.length, queries,
+                millis(nanos[nanos.length / 2]), millis(nanos[nanos.length * 99 / 100]));
+        return queries;
+    }
+
+    private long[] round(Runnable read) throws Exception {
+        cacheManager.getCache(CacheConfig.TECNICOS).clear();
+        cacheManager.getCache(CacheConfig.CLIENTES).clear();
+
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                barrier.await();
+                long start = System.nanoTime();
+                read.run();
+                return System.nanoTime() - start;
+            }));
+        }
+
+        long[] nanos = new long[THREADS];
+        for (int i = 0; i < THREADS; i++) {
+            nanos[i] = futures.get(i).get();
+        }
+        return nanos;
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,108 @@
+package br.ufpb.os.integration;
+
+import br.ufpb.os.config.ContainersEnvironment;
+import br.ufpb.os.domain.Cliente;
+import br.ufpb.os.domain.OS;
+import br.ufpb.os.domain.Tecnico;
+import br.ufpb.os.domain.enuns.Prioridade;
+import br.ufpb.os.domain.enuns.Status;
+import br.ufpb.os.repositories.ClienteRepository;
+import br.ufpb.os.repositories.OSRepository;
+import br.ufpb.os.repositories.TecnicoRepository;
+import br.ufpb.os.util.CpfCreator;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Sobe a aplicação sobre um banco criado quando os ids vinham de IDENTITY, já
+ * com linhas e sem as sequences
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+public class IdSequenceMigrationTest extends ContainersEnvironment {
+
+    private static final String DATABASE = "legacy_ids";
+
+    @Autowired
+    private OSRepository osRepository;
+
+    @Autowired
+    private TecnicoRepository tecnicoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @DynamicPropertySource
+    static void legacyDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", IdSequenceMigrationTest::createLegacyDatabase);
+    }
+
+    @Test
+    void save_AssignsIdsAfterExistingRows_WhenDatabaseUsedIdentity() {
+        Tecnico tecnico = tecnicoRepository.findById(1).orElseThrow();
+        Cliente cliente = clienteRepository.findById(2).orElseThrow();
+
+        List<OS> saved = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            saved.add(osRepository.save(new OS(null, Prioridade.ALTA, "nova " + i, Status.ABERTO, tecnico, cliente)));
+        }
+
+        Assertions.assertThat(saved).extracting(OS::getId).allMatch(id -> id > 3).doesNotHaveDuplicates();
+        Assertions.assertThat(osRepository.count()).isEqualTo(6);
+    }
+
+    @Test
+    void save_AssignsPessoaIdsAfterExistingRows_WhenDatabaseUsedIdentity() {
+        Tecnico tecnico = tecnicoRepository.save(new Tecnico(null, "Grace Hopper", CpfCreator.validCpf(11), "telefone"));
+        Cliente cliente = clienteRepository.save(new Cliente(null, "Ada Lovelace", CpfCreator.validCpf(12), "telefone"));
+
+        Assertions.assertThat(tecnico.getId()).isGreaterThan(2);
+        Assertions.assertThat(cliente.getId()).isGreaterThan(2).isNotEqualTo(tecnico.getId());
+    }
+
+    private static String createLegacyDatabase() {
+        String url = "jdbc:postgresql://" + postgreSQLContainer.getHost() + ":"
+                + postgreSQLContainer.getMappedPort(5432) + "/" + DATABASE;
+        String username = postgreSQLContainer.getUsername();
+        String password = postgreSQLContainer.getPassword();
+
+        try {
+            try (Connection connection = DriverManager.getConnection(postgreSQLContainer.getJdbcUrl(), username, password);
+                 Statement statement = connection.createStatement()) {
+                statement.execute("DROP DATABASE IF EXISTS " + DATABASE);
+                statement.execute("CREATE DATABASE " + DATABASE);
+            }
+
+            try (Connection connection = DriverManager.getConnection(url, username, password);
+                 Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE pessoa (dtype VARCHAR(31) NOT NULL,"
+                        + " id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,"
+                        + " nome VARCHAR(255), cpf VARCHAR(255), telefone VARCHAR(255))");
+                statement.execute("CREATE TABLE os (id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,"
+                        + " data_abertura TIMESTAMP, data_fechamento TIMESTAMP, prioridade INTEGER,"
+                        + " observacoes VARCHAR(255), status INTEGER,"
+                        + " tecnico_id INTEGER REFERENCES pessoa, cliente_id INTEGER REFERENCES pessoa)");
+                statement.execute("INSERT INTO pessoa (dtype, nome, cpf, telefone) VALUES"
+                        + " ('Tecnico', 'Alan Turing', '332.040.820-83', '(88) 96345-9874'),"
+                        + " ('Cliente', 'Isaac Newton', '422.876.280-88', '(88) 95555-6541')");
+                statement.execute("INSERT INTO os (data_abertura, prioridade, observacoes, status, tecnico_id, cliente_id)"
+                        + " SELECT now(), 2, 'antiga ' || n, 0, 1, 2 FROM generate_series(1, 3) AS n");
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return url;
+    }
+}
@@ -0,0 +1,221 @@
+package br.ufpb.os.integration;
+
+import br.ufpb.os.config.ContainersEnvironment;
+import br.ufpb.os.config.VirtualThreadsConfig;
+import br.ufpb.os.dtos.OSBatchResultDTO;
+import br.ufpb.os.util.CpfCreator;
+import br.ufpb.os.util.OpenLoopLoadGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Carga mista de leitura e escrita sobre os controllers de OS, clientes e
+ * técnicos, com o gerador em malha aberta de OpenLoopLoadGenerator. Os dados são
+ * criados pela própria API (POST /tecnicos, /clientes/import e /os/batch) e o
+ * relatório por endpoint vai em JSON para load.report. Fica fora do build normal:
+ *
+ * mvn test -Pbenchmark -Dtest=LoadTest -Dload.rate=300 -Dload.duration=60
+ *
+ * Com -Dspring.threads.virtual.enabled=true (Java 21) a mesma carga roda no modo
+ * de virtual threads; o modo em uso entra no nome padrão do relatório. O limite
+ * por cliente (RateLimitFilter) fica desligado, já que toda a carga sai do mesmo
+ * endereço
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "rate-limit.enabled=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class LoadTest extends ContainersEnvironment {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoadTest.class);
+
+    private static final int RATE = Integer.getInteger("load.rate", 200);
+    private static final int WARMUP = Integer.getInteger("load.warmup", 10);
+    private static final int DURATION = Integer.getInteger("load.duration", 30);
+    private static final int TECNICOS = Integer.getInteger("load.tecnicos", 50);
+    private static final int CLIENTES = Integer.getInteger("load.clientes", 5_000);
+    private static final int ORDENS = Integer.getInteger("load.os", 50_000);
+    private static final long SEED = Long.getLong("load.seed", 42L);
+
+    private static final int BATCH = 1_000;
+    private static final double MAX_ERROR_RATE = 0.01;
+
+    private static final String[] NOMES = { "Ana", "Bruno", "Carla", "Diego", "Elisa", "Fabio", "Gabriela", "Heitor" };
+    private static final String[] SOBRENOMES = { "Almeida", "Barbosa", "Costa", "Dias", "Esteves", "Ferreira" };
+    private static final String[] PALAVRAS = { "trocar", "fonte", "notebook", "formatar", "placa", "teclado", "tela",
+            "bateria", "limpeza", "backup", "impressora", "rede" };
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationContext context;
+
+    private final Random random = new Random(SEED);
+    private final AtomicLong cpfs = new AtomicLong(5_000_000);
+
+    private int[] tecnicos;
+    private int[] clientes;
+    private int[] ordens;
+
+    @BeforeAll
+    void seed() {
+        HttpHeaders json = new HttpHeaders();
+        json.setContentType(MediaType.APPLICATION_JSON);
+
+        for (int i = 0; i < TECNICOS; i++) {
+            testRestTemplate.postForEntity("/tecnicos", new HttpEntity<>(pessoa(CpfCreator.validCpf(1_000_000 + i)), json),
+                    Void.class);
+        }
+
+        StringBuilder csv = new StringBuilder("nome,cpf,telefone\n");
+        for (int i = 0; i < CLIENTES; i++) {
+            csv.append(nome()).append(',').append(CpfCreator.validCpf(2_000_000 + i)).append(',').append(telefone())
+                    .append('\n');
+        }
+        HttpHeaders text = new HttpHeaders();
+        text.setContentType(MediaType.parseMediaType("text/csv"));
+        testRestTemplate.postForEntity("/clientes/import", new HttpEntity<>(csv.toString(), text), String.class);
+
+        tecnicos = ids("SELECT id FROM pessoa WHERE dtype = 'Tecnico'");
+        clientes = ids("SELECT id FROM pessoa WHERE dtype = 'Cliente'");
+
+        for (int done = 0; done < ORDENS; done += BATCH) {
+            List<String> batch = new ArrayList<>();
+            for (int i = done; i < Math.min(done + BATCH, ORDENS); i++) {
+                batch.add(os(null));
+            }
+            testRestTemplate.postForEntity("/os/batch", new HttpEntity<>("[" + String.join(",", batch) + "]", json),
+                    OSBatchResultDTO.class);
+        }
+        ordens = ids("SELECT id FROM os");
+        LOG.info("LOAD - DADOS: {} técnicos, {} clientes, {} OS", tecnicos.length, clientes.length, ordens.length);
+    }
+
+    @Test
+    void mixedTraffic_ReportsLatencyPerEndpoint() throws InterruptedException, IOException {
+        OpenLoopLoadGenerator generator = new OpenLoopLoadGenerator(URI.create("http://localhost:" + port), RATE,
+                Duration.ofSeconds(WARMUP), Duration.ofSeconds(DURATION), SEED)
+                .endpoint("GET /os/{id}", 20, (uri, r) -> get(uri, "/os/" + pick(ordens, r)))
+                .endpoint("GET /os?limit", 10, (uri, r) -> get(uri, "/os?limit=50&status=" + r.nextInt(3)))
+                .endpoint("GET /os?tecnico", 5, (uri, r) -> get(uri, "/os?limit=50&sort=dataAbertura&tecnico="
+                        + pick(tecnicos, r)))
+                .endpoint("GET /os/search", 5, (uri, r) -> get(uri, "/os/search?limit=20&q=" + pick(PALAVRAS, r)))
+                .endpoint("GET /os/stats", 2, (uri, r) -> get(uri, "/os/stats"))
+                .endpoint("POST /os", 15, (uri, r) -> send(uri, "/os", "POST", os(r)))
+                .endpoint("PUT /os", 5, (uri, r) -> send(uri, "/os", "PUT", os(r, pick(ordens, r))))
+                .endpoint("GET /clientes/{id}", 10, (uri, r) -> get(uri, "/clientes/" + pick(clientes, r)))
+                .endpoint("GET /clientes?limit", 3, (uri, r) -> get(uri, "/clientes?limit=50"))
+                .endpoint("GET /clientes/suggest", 8, (uri, r) -> get(uri, "/clientes/suggest?q="
+                        + pick(NOMES, r).substring(0, 3)))
+                .endpoint("POST /clientes", 3, (uri, r) -> send(uri, "/clientes", "POST",
+                        pessoa(CpfCreator.validCpf(cpfs.incrementAndGet()))))
+                .endpoint("GET /tecnicos/{id}", 10, (uri, r) -> get(uri, "/tecnicos/" + pick(tecnicos, r)))
+                .endpoint("GET /tecnicos/suggest", 4, (uri, r) -> get(uri, "/tecnicos/suggest?q="
+                        + pick(SOBRENOMES, r).substring(0, 3)));
+
+        OpenLoopLoadGenerator.Report report = generator.run();
+
+        String threads = context.getBeanNamesForType(VirtualThreadsConfig.class).length > 0 ? "virtual" : "platform";
+        File file = new File(System.getProperty("load.report", "target/load-report-" + threads + ".json"));
+        file.getAbsoluteFile().getParentFile().mkdirs();
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, report);
+
+        long requests = 0;
+        long errors = 0;
+        for (Map.Entry<String, Map<String, Object>> entry : report.getEndpoints().entrySet()) {
+            Map<String, Object> stats = entry.getValue();
+            LOG.info("LOAD - {}: {} req, {} erros, {} req/s, p50 {} ms, p99 {} ms, p99.9 {} ms", entry.getKey(),
+                    stats.get("requests"), stats.get("errors"), String.format("%.1f", stats.get("throughput")),
+                    stats.get("p50"), stats.get("p99"), stats.get("p999"));
+            requests += (Long) stats.get("requests");
+            errors += (Long) stats.get("errors");
+        }
+        LOG.info("LOAD - THREADS {}, RELATÓRIO EM {}", threads, file.getAbsolutePath());
+
+        Assertions.assertThat(requests).isPositive();
+        Assertions.assertThat((double) errors / requests).isLessThan(MAX_ERROR_RATE);
+    }
+
+    private static HttpRequest.Builder get(URI base, String path) {
+        return HttpRequest.newBuilder(base.resolve(path)).GET();
+    }
+
+    private static HttpRequest.Builder send(URI base, String path, String method, String body) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .method(method, HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private static int pick(int[] ids, Random r) {
+        return ids[r.nextInt(ids.length)];
+    }
+
+    private static String pick(String[] words, Random r) {
+        return words[r.nextInt(words.length)];
+    }
+
+    private String os(Random r) {
+        return os(r, null);
+    }
+
+    private String os(Random r, Integer id) {
+        Random source = r == null ? random : r;
+        String observacoes = pick(PALAVRAS, source) + " " + pick(PALAVRAS, source) + " " + pick(PALAVRAS, source);
+        return "{" + (id == null ? "" : "\"id\":" + id + ",") + "\"observacoes\":\"" + observacoes + "\""
+                + ",\"prioridade\":" + source.nextInt(3) + ",\"status\":" + source.nextInt(2)
+                + ",\"tecnico\":" + pick(tecnicos, source) + ",\"cliente\":" + pick(clientes, source) + "}";
+    }
+
+    private String pessoa(String cpf) {
+        return "{\"nome\":\"" + nome() + "\",\"cpf\":\"" + cpf + "\",\"telefone\":\"" + telefone() + "\"}";
+    }
+
+    private String nome() {
+        return pick(NOMES, random) + " " + pick(SOBRENOMES, random);
+    }
+
+    private String telefone() {
+        return String.format("(83) 9%04d-%04d", random.nextInt(10_000), random.nextInt(10_000));
+    }
+
+    private int[] ids(String sql) {
+        return jdbcTemplate.queryForList(sql, Integer.class).stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,124 @@
+package br.ufpb.os.integration;
+
+import br.ufpb.os.config.ContainersEnvironment;
+import br.ufpb.os.domain.enuns.Prioridade;
+import br.ufpb.os.domain.enuns.Status;
+import br.ufpb.os.dtos.Cursor;
+import br.ufpb.os.dtos.OSDTO;
+import br.ufpb.os.dtos.OSFilterDTO;
+import br.ufpb.os.repositories.OSRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/*
+ * Latência das consultas filtradas de GET /os com 1 milhão de OS. Fica fora do
+ * build normal: rodar com mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class OSFilterBenchmarkTest extends ContainersEnvironment {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OSFilterBenchmarkTest.class);
+
+    private static final int ROWS = 1_000_000;
+    private static final int TECNICOS = 200;
+    private static final int CLIENTES = 1_000;
+    private static final int ID_OFFSET = 10_000_000;
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 500;
+    private static final int LIMIT = 50;
+
+    @Autowired
+    private OSRepository osRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO pessoa (dtype, id, nome, cpf, telefone, perfis)"
+                + " SELECT 'Tecnico', ? + g, 'tecnico ' || g, 'bench-t' || g, 'telefone', 2 FROM generate_series(1, ?) g",
+                ID_OFFSET, TECNICOS);
+        jdbcTemplate.update("INSERT INTO pessoa (dtype, id, nome, cpf, telefone, perfis)"
+                + " SELECT 'Cliente', ? + g, 'cliente ' || g, 'bench-c' || g, 'telefone', 2 FROM generate_series(1, ?) g",
+                2 * ID_OFFSET, CLIENTES);
+        jdbcTemplate.update("INSERT INTO os (id, data_abertura, prioridade, status, observacoes, tecnico_id, cliente_id)"
+                + " SELECT ? + g, now() - random() * interval '365 days', g % 3, (g / 3) % 3, 'benchmark',"
+                + " ? + 1 + g % ?, ? + 1 + g % ? FROM generate_series(1, ?) g",
+                ID_OFFSET, ID_OFFSET, TECNICOS, 2 * ID_OFFSET, CLIENTES, ROWS);
+        jdbcTemplate.execute("ANALYZE os");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM os WHERE id > ?", ID_OFFSET);
+        jdbcTemplate.update("DELETE FROM pessoa WHERE id > ?", ID_OFFSET);
+    }
+
+    @Test
+    void filteredQueries_LatencyAtOneMillionRows() {
+        LocalDateTime weekAgo = LocalDateTime.now().minusDays(7);
+
+        OSFilterDTO openHighThisWeek = new OSFilterDTO();
+        openHighThisWeek.setStatus(Status.ABERTO.getCod());
+        openHighThisWeek.setPrioridade(Prioridade.ALTA.getCod());
+        openHighThisWeek.setDataAberturaDe(weekAgo);
+
+        OSFilterDTO openOfTecnico = new OSFilterDTO();
+        openOfTecnico.setTecnico(ID_OFFSET + 12);
+        openOfTecnico.setStatus(Status.ABERTO.getCod());
+
+        OSFilterDTO openHighOfTecnicoThisWeek = new OSFilterDTO();
+        openHighOfTecnicoThisWeek.setTecnico(ID_OFFSET + 12);
+        openHighOfTecnicoThisWeek.setStatus(Status.ABERTO.getCod());
+        openHighOfTecnicoThisWeek.setPrioridade(Prioridade.ALTA.getCod());
+        openHighOfTecnicoThisWeek.setDataAberturaDe(weekAgo);
+
+        measure("sem filtro", () -> osRepository.findDTO(new OSFilterDTO(), Cursor.SORT_ID, null, LIMIT));
+        measure("status + prioridade + semana",
+                () -> osRepository.findDTO(openHighThisWeek, OSRepository.SORT_DATA_ABERTURA, null, LIMIT));
+        measure("tecnico + status", () -> osRepository.findDTO(openOfTecnico, Cursor.SORT_ID, null, LIMIT));
+        measure("tecnico + status + prioridade + semana",
+                () -> osRepository.findDTO(openHighOfTecnicoThisWeek, Cursor.SORT_ID, null, LIMIT));
+    }
+
+    private void measure(String name, Supplier<List<OSDTO>> query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.get();
+        }
+
+        long[] nanos = new long[ITERATIONS];
+        int rows = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            rows = query.get().size();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+
+        LOG.info("BENCHMARK - {}: {} linhas, p50 {} ms, p95 {} ms, p99 {} ms", name, rows,
+                millis(nanos[ITERATIONS / 2]), millis(nanos[ITERATIONS * 95 / 100]), millis(nanos[ITERATIONS * 99 / 100]));
+        Assertions.assertThat(rows).isPositive();
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+}
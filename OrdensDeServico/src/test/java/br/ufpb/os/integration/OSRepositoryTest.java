@@ -0,0 +1,219 @@
+package br.ufpb.os.integration;
+
+import br.ufpb.os.config.ContainersEnvironment;
+import br.ufpb.os.domain.Cliente;
+import br.ufpb.os.domain.OS;
+import br.ufpb.os.domain.Tecnico;
+import br.ufpb.os.domain.enuns.Prioridade;
+import br.ufpb.os.domain.enuns.Status;
+import br.ufpb.os.dtos.Cursor;
+import br.ufpb.os.dtos.CursorPageDTO;
+import br.ufpb.os.dtos.OSDTO;
+import br.ufpb.os.dtos.OSFilterDTO;
+import br.ufpb.os.repositories.ClienteRepository;
+import br.ufpb.os.repositories.OSRepository;
+import br.ufpb.os.repositories.TecnicoRepository;
+import br.ufpb.os.services.OsService;
+import br.ufpb.os.services.exceptions.InvalidRequestException;
+import br.ufpb.os.util.CpfCreator;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class OSRepositoryTest extends ContainersEnvironment {
+
+    @Autowired
+    private OSRepository osRepository;
+
+    @Autowired
+    private TecnicoRepository tecnicoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private OsService osService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        osRepository.deleteAll();
+        tecnicoRepository.deleteAll();
+        clienteRepository.deleteAll();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findAllDTO_ExecutesSingleStatement_RegardlessOfRowCount() {
+        saveOrders(3);
+        statistics.clear();
+
+        List<OSDTO> few = osRepository.findAllDTO();
+
+        Assertions.assertThat(few).hasSize(3);
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        saveOrders(20);
+        statistics.clear();
+
+        List<OSDTO> many = osRepository.findAllDTO();
+
+        Assertions.assertThat(many).hasSize(23);
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findDTOById_ExecutesSingleStatement_WhenSuccessful() {
+        OS os = saveOrders(1).get(0);
+        statistics.clear();
+
+        OSDTO dto = osRepository.findDTOById(os.getId()).orElseThrow();
+
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        Assertions.assertThat(dto.getTecnico()).isEqualTo(os.getTecnico().getId());
+        Assertions.assertThat(dto.getCliente()).isEqualTo(os.getCliente().getId());
+    }
+
+    @Test
+    void findDTO_AppliesOnlyGivenFilters_InSingleStatement() {
+        List<OS> orders = saveOrders(3);
+        OS target = orders.get(1);
+        target.setStatus(Status.ANDAMENTO);
+        osRepository.save(target);
+        statistics.clear();
+
+        OSFilterDTO filter = new OSFilterDTO();
+        filter.setStatus(Status.ANDAMENTO.getCod());
+        filter.setTecnico(target.getTecnico().getId());
+        List<OSDTO> found = osRepository.findDTO(filter, Cursor.SORT_ID, null, -1);
+
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        Assertions.assertThat(found).extracting(OSDTO::getId).containsExactly(target.getId());
+
+        filter = new OSFilterDTO();
+        filter.setPrioridade(Prioridade.ALTA.getCod());
+        filter.setDataAberturaDe(target.getDataAbertura().minusDays(1));
+        List<OSDTO> page = osRepository.findDTO(filter, Cursor.SORT_ID, new Cursor(Cursor.SORT_ID, null, orders.get(0).getId()), 1);
+
+        Assertions.assertThat(page).extracting(OSDTO::getId).containsExactly(target.getId());
+    }
+
+    @Test
+    void findPage_ReturnsEachOrderOnce_WhenDataAberturaTies() {
+        LocalDateTime tie = LocalDateTime.of(2024, 1, 10, 8, 0);
+        List<OS> orders = saveOrders(7);
+        for (int i = 0; i < orders.size(); i++) {
+            OS os = orders.get(i);
+            os.setDataAbertura(i == 0 ? tie.minusHours(1) : i == 6 ? tie.plusHours(1) : tie);
+            osRepository.save(os);
+        }
+
+        List<Integer> expected = orders.stream()
+                .sorted(Comparator.comparing(OS::getDataAbertura).thenComparing(OS::getId))
+                .map(OS::getId)
+                .collect(Collectors.toList());
+
+        Assertions.assertThat(readAllPages(OSRepository.SORT_DATA_ABERTURA, 2)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void findPage_ReturnsEachOrderOnce_WhenPrioridadeTies() {
+        List<OS> orders = saveOrders(5);
+        orders.get(2).setPrioridade(Prioridade.BAIXA);
+        osRepository.save(orders.get(2));
+
+        List<Integer> expected = new ArrayList<>();
+        expected.add(orders.get(2).getId());
+        orders.stream().map(OS::getId).filter(id -> !id.equals(orders.get(2).getId())).sorted().forEach(expected::add);
+
+        Assertions.assertThat(readAllPages(OSRepository.SORT_PRIORIDADE, 2)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void findPage_ReturnsNullNext_WhenLastPageIsReached() {
+        saveOrders(4);
+
+        CursorPageDTO<OSDTO> first = osService.findPage(null, null, 2, OSRepository.SORT_DATA_ABERTURA);
+        CursorPageDTO<OSDTO> last = osService.findPage(null, first.getNext(), 2, OSRepository.SORT_DATA_ABERTURA);
+
+        Assertions.assertThat(first.getContent()).hasSize(2);
+        Assertions.assertThat(first.getNext()).isNotNull();
+        Assertions.assertThat(last.getContent()).hasSize(2);
+        Assertions.assertThat(last.getNext()).isNull();
+
+        CursorPageDTO<OSDTO> beyond = osService.findPage(null,
+                new Cursor(Cursor.SORT_ID, null, last.getContent().get(1).getId()).encode(), 2, Cursor.SORT_ID);
+
+        Assertions.assertThat(beyond.getContent()).isEmpty();
+        Assertions.assertThat(beyond.getNext()).isNull();
+    }
+
+    @Test
+    void findPage_ThrowsInvalidRequestException_WhenCursorIsMalformed() {
+        saveOrders(1);
+
+        Assertions.assertThatThrownBy(() -> osService.findPage(null, "not base64!", 2, OSRepository.SORT_DATA_ABERTURA))
+                .isInstanceOf(InvalidRequestException.class);
+        Assertions.assertThatThrownBy(() -> osService.findPage(null, token("dataAbertura|ontem|1"), 2,
+                        OSRepository.SORT_DATA_ABERTURA))
+                .isInstanceOf(InvalidRequestException.class);
+        Assertions.assertThatThrownBy(() -> osService.findPage(null, token("dataAbertura|2024-01-10T08:00|x"), 2,
+                        OSRepository.SORT_DATA_ABERTURA))
+                .isInstanceOf(InvalidRequestException.class);
+        Assertions.assertThatThrownBy(() -> osService.findPage(null, new Cursor(Cursor.SORT_ID, null, 1).encode(), 2,
+                        OSRepository.SORT_DATA_ABERTURA))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    /*
+     * Segue os cursores até a última página e devolve os ids na ordem recebida
+     */
+    private List<Integer> readAllPages(String sort, int limit) {
+        List<Integer> ids = new ArrayList<>();
+        String after = null;
+        do {
+            CursorPageDTO<OSDTO> page = osService.findPage(null, after, limit, sort);
+            Assertions.assertThat(page.getContent()).hasSizeLessThanOrEqualTo(limit);
+            page.getContent().forEach(os -> ids.add(os.getId()));
+            after = page.getNext();
+        } while (after != null);
+        return ids;
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<OS> saveOrders(int count) {
+        long seed = osRepository.count() * 2 + 1;
+        List<OS> orders = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            Tecnico tecnico = tecnicoRepository.save(new Tecnico(null, "tecnico" + i, CpfCreator.validCpf(seed + 2 * i), "telefone"));
+            Cliente cliente = clienteRepository.save(new Cliente(null, "cliente" + i, CpfCreator.validCpf(seed + 2 * i + 1), "telefone"));
+            orders.add(osRepository.save(new OS(null, Prioridade.ALTA, "observacoes", Status.ABERTO, tecnico, cliente)));
+        }
+        return orders;
+    }
+}
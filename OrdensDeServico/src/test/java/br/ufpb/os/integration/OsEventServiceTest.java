@@ -0,0 +1,112 @@
+package br.ufpb.os.integration;
+
+import br.ufpb.os.config.ContainersEnvironment;
+import br.ufpb.os.domain.Cliente;
+import br.ufpb.os.domain.OS;
+import br.ufpb.os.domain.Tecnico;
+import br.ufpb.os.domain.enuns.Prioridade;
+import br.ufpb.os.domain.enuns.Status;
+import br.ufpb.os.services.OsEventService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "os.events.threads=2", "os.events.slow-consumer-timeout=1000" })
+public class OsEventServiceTest extends ContainersEnvironment {
+
+    private static final String REQUEST = "GET /os/events HTTP/1.1\r\nHost: localhost\r\nAccept: text/event-stream\r\n\r\n";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private OsEventService eventService;
+
+    private final List<Socket> sockets = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+    }
+
+    @Test
+    void publish_ReachesLiveSubscriber_WhenOtherConsumersNeverRead() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            subscribe(1024);
+        }
+        awaitSubscribers(4);
+
+        String big = "x".repeat(20_000);
+        for (int i = 0; i < 200; i++) {
+            eventService.recordCreated(order(i, big));
+        }
+
+        Socket live = subscribe(0);
+        awaitSubscribers(5);
+        live.setSoTimeout(5000);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(live.getInputStream(), StandardCharsets.UTF_8));
+
+        eventService.recordCreated(order(1000, "live"));
+
+        Assertions.assertThat(readUntil(reader, "\"observacoes\":\"live\"")).isTrue();
+        awaitSubscribers(1);
+    }
+
+    private Socket subscribe(int receiveBufferSize) throws IOException {
+        Socket socket = new Socket();
+        if (receiveBufferSize > 0) {
+            socket.setReceiveBufferSize(receiveBufferSize);
+        }
+        socket.connect(new InetSocketAddress("localhost", port));
+        socket.getOutputStream().write(REQUEST.getBytes(StandardCharsets.US_ASCII));
+        socket.getOutputStream().flush();
+        sockets.add(socket);
+        return socket;
+    }
+
+    private void awaitSubscribers(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (eventService.getSubscribers() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Assertions.assertThat(eventService.getSubscribers()).isEqualTo(expected);
+    }
+
+    private static boolean readUntil(BufferedReader reader, String text) throws IOException {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.contains(text)) {
+                    return true;
+                }
+            }
+        } catch (SocketTimeoutException e) {
+            return false;
+        }
+        return false;
+    }
+
+    private static OS order(int id, String observacoes) {
+        Tecnico tecnico = new Tecnico(1, "tecnico", "332.040.820-83", "telefone");
+        Cliente cliente = new Cliente(2, "cliente", "422.876.280-88", "telefone");
+        return new OS(id, Prioridade.ALTA, observacoes, Status.ABERTO, tecnico, cliente);
+    }
+}
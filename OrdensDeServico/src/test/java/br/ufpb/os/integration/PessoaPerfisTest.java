@@ -0,0 +1,49 @@
+package br.ufpb.os.integration;
+
+import br.ufpb.os.config.ContainersEnvironment;
+import br.ufpb.os.domain.Tecnico;
+import br.ufpb.os.domain.enuns.Perfil;
+import br.ufpb.os.repositories.OSRepository;
+import br.ufpb.os.repositories.TecnicoRepository;
+import br.ufpb.os.util.CpfCreator;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class PessoaPerfisTest extends ContainersEnvironment {
+
+    @Autowired
+    private TecnicoRepository tecnicoRepository;
+
+    @Autowired
+    private OSRepository osRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        osRepository.deleteAll();
+        tecnicoRepository.deleteAll();
+    }
+
+    @Test
+    void addPerfil_PersistsPerfil_WhenAddedToLoadedPessoa() {
+        Integer id = tecnicoRepository.save(new Tecnico(null, "tecnico", CpfCreator.validCpf(21), "telefone")).getId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Tecnico loaded = tecnicoRepository.findById(id).orElseThrow();
+            loaded.addPerfil(Perfil.ADMIN);
+        });
+
+        Tecnico reloaded = tecnicoRepository.findById(id).orElseThrow();
+        Assertions.assertThat(reloaded.getPerfis()).containsExactlyInAnyOrder(Perfil.CLIENTE, Perfil.ADMIN);
+        Assertions.assertThat(reloaded.getVersion()).isEqualTo(1);
+    }
+}
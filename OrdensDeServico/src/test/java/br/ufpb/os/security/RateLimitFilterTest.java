@@ -0,0 +1,100 @@
+package br.ufpb.os.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+public class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter();
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ObjectProvider<MeterRegistry> registry = Mockito.mock(ObjectProvider.class);
+        Mockito.when(registry.getIfAvailable()).thenReturn(meters);
+
+        ReflectionTestUtils.setField(filter, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(filter, "registry", registry);
+        ReflectionTestUtils.setField(filter, "listingCapacity", 2);
+        ReflectionTestUtils.setField(filter, "listingPerSecond", 0.1);
+        ReflectionTestUtils.setField(filter, "listingMaxConcurrent", 8);
+        ReflectionTestUtils.setField(filter, "lookupCapacity", 100);
+        ReflectionTestUtils.setField(filter, "lookupPerSecond", 50.0);
+        ReflectionTestUtils.setField(filter, "maxClients", 1000L);
+        filter.init();
+    }
+
+    @Test
+    void tryAcquire_AllowsBurstThenRefillsAtRate() {
+        long now = 0;
+        TokenBucket bucket = new TokenBucket(3, 10, now);
+
+        Assertions.assertThat(bucket.tryAcquire(now)).isZero();
+        Assertions.assertThat(bucket.tryAcquire(now)).isZero();
+        Assertions.assertThat(bucket.tryAcquire(now)).isZero();
+        Assertions.assertThat(bucket.tryAcquire(now)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+
+        now += TimeUnit.MILLISECONDS.toNanos(100);
+        Assertions.assertThat(bucket.tryAcquire(now)).isZero();
+        Assertions.assertThat(bucket.tryAcquire(now)).isPositive();
+    }
+
+    @Test
+    void tier_SeparatesListingsFromLookups() {
+        Assertions.assertThat(RateLimitFilter.tier(new MockHttpServletRequest("GET", "/os"))).isEqualTo("listing");
+        Assertions.assertThat(RateLimitFilter.tier(new MockHttpServletRequest("GET", "/clientes/"))).isEqualTo("listing");
+        Assertions.assertThat(RateLimitFilter.tier(new MockHttpServletRequest("GET", "/os/export"))).isEqualTo("listing");
+        Assertions.assertThat(RateLimitFilter.tier(new MockHttpServletRequest("GET", "/os/10"))).isEqualTo("lookup");
+        Assertions.assertThat(RateLimitFilter.tier(new MockHttpServletRequest("POST", "/os"))).isEqualTo("lookup");
+    }
+
+    @Test
+    void doFilter_Returns429WithRetryAfter_WhenListingBudgetIsExhausted() throws Exception {
+        Assertions.assertThat(call("GET", "/os", "10.0.0.1").getStatus()).isEqualTo(200);
+        Assertions.assertThat(call("GET", "/os", "10.0.0.1").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse rejected = call("GET", "/os", "10.0.0.1");
+        Assertions.assertThat(rejected.getStatus()).isEqualTo(429);
+        Assertions.assertThat(rejected.getHeader("Retry-After")).isEqualTo("10");
+        Assertions.assertThat(rejected.getContentAsString()).contains("\"status\":429");
+
+        Assertions.assertThat(call("GET", "/os/1", "10.0.0.1").getStatus()).isEqualTo(200);
+        Assertions.assertThat(call("GET", "/os", "10.0.0.2").getStatus()).isEqualTo(200);
+        Assertions.assertThat(meters.counter(RateLimitFilter.REJECTED, "tier", "listing", "reason", "rate_limit")
+                .count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void doFilter_Returns503_WhenTooManyListingsRunAtOnce() throws Exception {
+        ReflectionTestUtils.setField(filter, "listingMaxConcurrent", 0);
+        filter.init();
+
+        MockHttpServletResponse rejected = call("GET", "/os", "10.0.0.1");
+        Assertions.assertThat(rejected.getStatus()).isEqualTo(503);
+        Assertions.assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        Assertions.assertThat(call("GET", "/os/1", "10.0.0.1").getStatus()).isEqualTo(200);
+        Assertions.assertThat(meters.counter(RateLimitFilter.REJECTED, "tier", "listing", "reason", "overload")
+                .count()).isEqualTo(1.0);
+    }
+
+    private MockHttpServletResponse call(String method, String uri, String address) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(address);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
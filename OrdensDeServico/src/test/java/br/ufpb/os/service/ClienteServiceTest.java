@@ -1,13 +1,16 @@
 package br.ufpb.os.service;
 
+import br.ufpb.os.config.CacheConfig;
 import br.ufpb.os.domain.Cliente;
 import br.ufpb.os.domain.OS;
 import br.ufpb.os.dtos.ClienteDTO;
 import br.ufpb.os.repositories.ClienteRepository;
 import br.ufpb.os.repositories.PessoaRepository;
 import br.ufpb.os.services.ClienteService;
+import br.ufpb.os.services.SyncService;
 import br.ufpb.os.services.exceptions.DataIntegratyViolationException;
 import br.ufpb.os.services.exceptions.ObjectNotFoundException;
+import br.ufpb.os.services.exceptions.PreconditionFailedException;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,11 +19,17 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @ExtendWith(SpringExtension.class)
 public class ClienteServiceTest {
@@ -34,6 +43,12 @@ public class ClienteServiceTest {
     @Mock
     private PessoaRepository pessoaRepositoryMock;
 
+    @Mock
+    private SyncService syncServiceMock;
+
+    @Mock
+    private CacheManager cacheManagerMock;
+
 
     @BeforeEach
     void setUp(){
@@ -158,13 +173,28 @@ public class ClienteServiceTest {
                 .hasMessage("CPF já cadastrado na base de dados!");
     }
 
+    @Test
+    void create_throwsDataIntegratyViolationException_WhenCpfIsRegistratedWithoutPunctuation(){
+        Cliente cliente = new Cliente(1, "test", "529.982.247-25", "telefone");
+
+        BDDMockito.when(pessoaRepositoryMock.findByCPF("529.982.247-25"))
+                .thenReturn(cliente);
+
+        ClienteDTO clienteToBeSaved = new ClienteDTO(cliente);
+        clienteToBeSaved.setCpf("52998224725");
+
+        Assertions.assertThatThrownBy(() -> clienteService.create(clienteToBeSaved))
+                .isInstanceOf(DataIntegratyViolationException.class)
+                .hasMessage("CPF já cadastrado na base de dados!");
+    }
+
     @Test
     void update_ReturnsCliente_WhenSuccessful() {
         Cliente cliente = new Cliente(1, "test", "cpf", "telefone");
 
         ClienteDTO clienteToBeUpdate = new ClienteDTO(cliente);
 
-        Cliente clienteUpdated = clienteService.update(cliente.getId(), clienteToBeUpdate);
+        Cliente clienteUpdated = clienteService.update(cliente.getId(), clienteToBeUpdate, null);
 
         Assertions.assertThat(clienteUpdated)
                 .isNotNull()
@@ -185,11 +215,60 @@ public class ClienteServiceTest {
 
         ClienteDTO clienteToBeUpdate = new ClienteDTO(cliente);
 
-        Assertions.assertThatThrownBy(() -> clienteService.update(cliente2.getId(), clienteToBeUpdate))
+        Assertions.assertThatThrownBy(() -> clienteService.update(cliente2.getId(), clienteToBeUpdate, null))
                 .isInstanceOf(DataIntegratyViolationException.class)
                 .hasMessage("Id diferentes");
     }
 
+    @Test
+    void update_throwsPreconditionFailedException_WhenVersionIsOutdated(){
+        Cliente cliente = new Cliente(1, "test", "cpf", "telefone");
+        cliente.setVersion(3);
+
+        BDDMockito.when(clienteRepositoryMock.findById(cliente.getId()))
+                .thenReturn(Optional.of(cliente));
+
+        ClienteDTO clienteToBeUpdate = new ClienteDTO(cliente);
+
+        Assertions.assertThatThrownBy(() -> clienteService.update(cliente.getId(), clienteToBeUpdate, Set.of(1, 2)))
+                .isInstanceOf(PreconditionFailedException.class)
+                .hasMessage("Cliente alterado por outra requisição! Versão atual: 3");
+    }
+
+    @Test
+    void update_ReturnsCliente_WhenAnyListedVersionMatches(){
+        Cliente cliente = new Cliente(1, "test", "cpf", "telefone");
+        cliente.setVersion(3);
+
+        BDDMockito.when(clienteRepositoryMock.findById(cliente.getId()))
+                .thenReturn(Optional.of(cliente));
+
+        ClienteDTO clienteToBeUpdate = new ClienteDTO(cliente);
+
+        Assertions.assertThat(clienteService.update(cliente.getId(), clienteToBeUpdate, Set.of(2, 3)))
+                .isEqualTo(cliente);
+    }
+
+    @Test
+    void update_EvictsCachedCliente_BeforeAndAfterCommit(){
+        Cache cache = Mockito.mock(Cache.class);
+        BDDMockito.when(cacheManagerMock.getCache(CacheConfig.CLIENTES)).thenReturn(cache);
+        Cliente cliente = new Cliente(1, "test", "cpf", "telefone");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            clienteService.update(cliente.getId(), new ClienteDTO(cliente), null);
+
+            Mockito.verify(cache, Mockito.times(1)).evict(cliente.getId());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Mockito.verify(cache, Mockito.times(2)).evict(cliente.getId());
+    }
+
     @Test
     void delete_RemoveCliente_whenSuccessful(){
 
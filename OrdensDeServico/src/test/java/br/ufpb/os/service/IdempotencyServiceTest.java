@@ -0,0 +1,115 @@
+package br.ufpb.os.service;
+
+import br.ufpb.os.dtos.ClienteDTO;
+import br.ufpb.os.services.IdempotencyService;
+import br.ufpb.os.services.exceptions.IdempotencyKeyReusedException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class IdempotencyServiceTest {
+
+    private final IdempotencyService idempotencyService = new IdempotencyService();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(idempotencyService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(idempotencyService, "ttl", 60_000L);
+        ReflectionTestUtils.setField(idempotencyService, "maxSize", 100L);
+        idempotencyService.init();
+    }
+
+    @Test
+    void execute_ReplaysStoredResponse_WhenKeyIsRepeated() {
+        ResponseEntity<Void> first = idempotencyService.execute("POST /clientes", "k1", cliente("Ana"), this::create);
+        ResponseEntity<Void> second = idempotencyService.execute("POST /clientes", "k1", cliente("Ana"), this::create);
+
+        Assertions.assertThat(executions.get()).isEqualTo(1);
+        Assertions.assertThat(second.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        Assertions.assertThat(second.getHeaders().getLocation()).isEqualTo(first.getHeaders().getLocation());
+        Assertions.assertThat(second.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void execute_RunsEveryTime_WithoutKey() {
+        idempotencyService.execute("POST /clientes", null, cliente("Ana"), this::create);
+        idempotencyService.execute("POST /clientes", " ", cliente("Ana"), this::create);
+
+        Assertions.assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    void execute_ThrowsIdempotencyKeyReusedException_WhenBodyDiffers() {
+        idempotencyService.execute("POST /clientes", "k1", cliente("Ana"), this::create);
+
+        Assertions.assertThatExceptionOfType(IdempotencyKeyReusedException.class)
+                .isThrownBy(() -> idempotencyService.execute("POST /clientes", "k1", cliente("Bruno"), this::create));
+        Assertions.assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_ExecutesAgain_AfterFailure() {
+        Assertions.assertThatIllegalStateException().isThrownBy(() -> idempotencyService.execute("POST /clientes",
+                "k1", cliente("Ana"), () -> {
+                    throw new IllegalStateException("falha");
+                }));
+
+        idempotencyService.execute("POST /clientes", "k1", cliente("Ana"), this::create);
+        Assertions.assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_CoalescesConcurrentDuplicates_OntoOneExecution() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<ResponseEntity<Void>> first = CompletableFuture.supplyAsync(() -> idempotencyService
+                .execute("POST /clientes", "k1", cliente("Ana"), () -> {
+                    started.countDown();
+                    await(release);
+                    return create();
+                }));
+        Assertions.assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<ResponseEntity<Void>> second = CompletableFuture.supplyAsync(() -> idempotencyService
+                .execute("POST /clientes", "k1", cliente("Ana"), this::create));
+        Thread.sleep(100);
+        Assertions.assertThat(second).isNotDone();
+
+        release.countDown();
+        Assertions.assertThat(second.get(5, TimeUnit.SECONDS).getHeaders().getLocation())
+                .isEqualTo(first.get(5, TimeUnit.SECONDS).getHeaders().getLocation());
+        Assertions.assertThat(executions.get()).isEqualTo(1);
+    }
+
+    private ResponseEntity<Void> create() {
+        return ResponseEntity.created(URI.create("/clientes/" + executions.incrementAndGet())).build();
+    }
+
+    private static ClienteDTO cliente(String nome) {
+        ClienteDTO obj = new ClienteDTO();
+        obj.setNome(nome);
+        obj.setCpf("422.876.280-88");
+        obj.setTelefone("(88) 95555-6541");
+        return obj;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package br.ufpb.os.service;
+
+import br.ufpb.os.dtos.OSDTO;
+import br.ufpb.os.dtos.OSEventDTO;
+import br.ufpb.os.services.OsEventBuffer;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class OsEventBufferTest {
+
+    private static final long FIRST = 1_000;
+
+    private final OsEventBuffer buffer = new OsEventBuffer(4, FIRST);
+
+    @Test
+    void read_ReturnsEventsInOrder_FromCursor() {
+        append(3);
+
+        Assertions.assertThat(ids(buffer.read(FIRST, 10))).containsExactly(FIRST, FIRST + 1, FIRST + 2);
+        Assertions.assertThat(ids(buffer.read(FIRST + 1, 1))).containsExactly(FIRST + 1);
+        Assertions.assertThat(buffer.read(FIRST + 3, 10)).isEmpty();
+    }
+
+    @Test
+    void read_ReturnsNull_WhenCursorWasOverwritten() {
+        append(6);
+
+        Assertions.assertThat(buffer.read(FIRST + 1, 10)).isNull();
+        Assertions.assertThat(ids(buffer.read(FIRST + 2, 10))).containsExactly(FIRST + 2, FIRST + 3, FIRST + 4,
+                FIRST + 5);
+    }
+
+    @Test
+    void read_ReturnsNull_WhenCursorIsFromAnotherSequence() {
+        append(2);
+
+        Assertions.assertThat(buffer.read(FIRST - 1, 10)).isNull();
+        Assertions.assertThat(buffer.read(FIRST + 3, 10)).isNull();
+    }
+
+    @Test
+    void append_KeepsTypeAndPayload() {
+        OSDTO os = new OSDTO();
+        os.setId(7);
+
+        OSEventDTO event = buffer.append(OSEventDTO.UPDATED, os);
+
+        Assertions.assertThat(event.getId()).isEqualTo(FIRST);
+        Assertions.assertThat(buffer.getNext()).isEqualTo(FIRST + 1);
+        Assertions.assertThat(buffer.read(FIRST, 1).get(0).getType()).isEqualTo(OSEventDTO.UPDATED);
+        Assertions.assertThat(buffer.read(FIRST, 1).get(0).getOs().getId()).isEqualTo(7);
+    }
+
+    private void append(int count) {
+        for (int i = 0; i < count; i++) {
+            buffer.append(OSEventDTO.CREATED, new OSDTO());
+        }
+    }
+
+    private static List<Long> ids(List<OSEventDTO> events) {
+        return events.stream().map(OSEventDTO::getId).collect(Collectors.toList());
+    }
+}
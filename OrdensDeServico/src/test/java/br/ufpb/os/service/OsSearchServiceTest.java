@@ -0,0 +1,76 @@
+package br.ufpb.os.service;
+
+import br.ufpb.os.dtos.CursorPageDTO;
+import br.ufpb.os.repositories.OSRepository;
+import br.ufpb.os.services.OsSearchService;
+import br.ufpb.os.services.exceptions.InvalidRequestException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@ExtendWith(SpringExtension.class)
+public class OsSearchServiceTest {
+
+    @InjectMocks
+    private OsSearchService searchService;
+
+    @Mock
+    private OSRepository osRepositoryMock;
+
+    @BeforeEach
+    void setUp() {
+        searchService.index(1, "Trocar fonte do computador");
+        searchService.index(2, "Fonte queimada, trocar fonte e verificar conexões");
+        searchService.index(3, "Instalar impressora");
+        searchService.index(4, "Verificar conexão de rede");
+    }
+
+    @Test
+    void search_MatchesAllTerms_IgnoringAccentsAndPlurals() {
+        Assertions.assertThat(searchService.search("TROCAR fontes", null, 10).getContent())
+                .containsExactlyInAnyOrder(1, 2);
+
+        Assertions.assertThat(searchService.search("conexao", null, 10).getContent())
+                .containsExactlyInAnyOrder(2, 4);
+    }
+
+    @Test
+    void search_RanksShorterTextFirst_WhenTermFrequencyIsEqual() {
+        Assertions.assertThat(searchService.search("verificar", null, 10).getContent())
+                .containsExactly(4, 2);
+    }
+
+    @Test
+    void search_ReturnsEmptyPage_WhenNoDocumentMatches() {
+        Assertions.assertThat(searchService.search("teclado", null, 10).getContent()).isEmpty();
+        Assertions.assertThat(searchService.search("de", null, 10).getContent()).isEmpty();
+    }
+
+    @Test
+    void search_PagesWithCursor_WithoutRepeatingResults() {
+        CursorPageDTO<Integer> first = searchService.search("verificar", null, 1);
+        CursorPageDTO<Integer> second = searchService.search("verificar", first.getNext(), 1);
+
+        Assertions.assertThat(first.getContent()).hasSize(1);
+        Assertions.assertThat(second.getContent()).hasSize(1).doesNotContainAnyElementsOf(first.getContent());
+        Assertions.assertThat(second.getNext()).isNull();
+    }
+
+    @Test
+    void index_ReplacesPreviousText_WhenOsIsUpdated() {
+        searchService.index(3, "Trocar toner da impressora");
+
+        Assertions.assertThat(searchService.search("instalar", null, 10).getContent()).isEmpty();
+        Assertions.assertThat(searchService.search("toner", null, 10).getContent()).containsExactly(3);
+    }
+
+    @Test
+    void search_ThrowsInvalidRequestException_WhenQueryIsBlank() {
+        Assertions.assertThatExceptionOfType(InvalidRequestException.class)
+                .isThrownBy(() -> searchService.search(" ", null, 10));
+    }
+}
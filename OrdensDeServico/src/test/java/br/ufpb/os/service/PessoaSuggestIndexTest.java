@@ -0,0 +1,59 @@
+package br.ufpb.os.service;
+
+import br.ufpb.os.dtos.PessoaSuggestDTO;
+import br.ufpb.os.services.PessoaSuggestIndex;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class PessoaSuggestIndexTest {
+
+    private PessoaSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PessoaSuggestIndex();
+        index.putAll(List.of(
+                new PessoaSuggestDTO(1, "João da Silva", "cpf1", "(83) 98765-4321"),
+                new PessoaSuggestDTO(2, "Joana Souza", "cpf2", "(83) 91234-5678"),
+                new PessoaSuggestDTO(3, "Maria Silveira", "cpf3", "(88) 96345-9874")));
+    }
+
+    @Test
+    void suggest_MatchesNamePrefixes_IgnoringAccentsAndCase() {
+        Assertions.assertThat(ids(index.suggest("joa", null))).containsExactly(2, 1);
+        Assertions.assertThat(ids(index.suggest("JOÃO sil", null))).containsExactly(1);
+        Assertions.assertThat(ids(index.suggest("silv", null))).containsExactly(1, 3);
+    }
+
+    @Test
+    void suggest_MatchesAnyPartOfTelefone_WhenQueryHasOnlyDigits() {
+        Assertions.assertThat(ids(index.suggest("9874", null))).containsExactly(3);
+        Assertions.assertThat(ids(index.suggest("(83) 9", null))).containsExactly(1, 2);
+        Assertions.assertThat(index.suggest("83", null)).isEmpty();
+    }
+
+    @Test
+    void suggest_ReturnsAtMostLimitResults() {
+        Assertions.assertThat(index.suggest("jo", 1)).hasSize(1);
+    }
+
+    @Test
+    void put_ReplacesEntry_AndRemoveDropsIt() {
+        index.put(new PessoaSuggestDTO(2, "Joana Pereira", "cpf2", "(83) 90000-0000"));
+
+        Assertions.assertThat(ids(index.suggest("souza", null))).isEmpty();
+        Assertions.assertThat(ids(index.suggest("pere", null))).containsExactly(2);
+
+        index.remove(2);
+
+        Assertions.assertThat(ids(index.suggest("joa", null))).containsExactly(1);
+    }
+
+    private static List<Integer> ids(List<PessoaSuggestDTO> list) {
+        return list.stream().map(PessoaSuggestDTO::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,85 @@
+package br.ufpb.os.service;
+
+import br.ufpb.os.services.SingleFlight;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SingleFlightTest {
+
+    private final SingleFlight<Integer, String> flights = new SingleFlight<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void execute_SharesOneLoad_BetweenConcurrentCallers() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> flights.execute(1, () -> {
+            started.countDown();
+            await(release);
+            return "os " + loads.incrementAndGet();
+        }));
+        Assertions.assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> flights.execute(1, this::load));
+        Thread.sleep(100);
+        Assertions.assertThat(second).isNotDone();
+
+        release.countDown();
+        Assertions.assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("os 1");
+        Assertions.assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("os 1");
+        Assertions.assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_LoadsAgain_AfterPreviousLoadFinished() {
+        Assertions.assertThat(flights.execute(1, this::load)).isEqualTo("os 1");
+        Assertions.assertThat(flights.execute(1, this::load)).isEqualTo("os 2");
+        Assertions.assertThat(flights.execute(2, this::load)).isEqualTo("os 3");
+    }
+
+    @Test
+    void execute_PropagatesFailure_AndReleasesKey() {
+        Assertions.assertThatIllegalStateException().isThrownBy(() -> flights.execute(1, () -> {
+            throw new IllegalStateException("falha");
+        }));
+
+        Assertions.assertThat(flights.execute(1, this::load)).isEqualTo("os 1");
+    }
+
+    @Test
+    void forget_StartsNewLoad_ForLaterCallers() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> stale = CompletableFuture.supplyAsync(() -> flights.execute(1, () -> {
+            started.countDown();
+            await(release);
+            return "antiga";
+        }));
+        Assertions.assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        flights.forget(1);
+        Assertions.assertThat(flights.execute(1, this::load)).isEqualTo("os 1");
+
+        release.countDown();
+        Assertions.assertThat(stale.get(5, TimeUnit.SECONDS)).isEqualTo("antiga");
+    }
+
+    private String load() {
+        return "os " + loads.incrementAndGet();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
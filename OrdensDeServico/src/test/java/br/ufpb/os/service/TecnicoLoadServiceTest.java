@@ -0,0 +1,59 @@
+package br.ufpb.os.service;
+
+import br.ufpb.os.domain.enuns.Prioridade;
+import br.ufpb.os.domain.enuns.Status;
+import br.ufpb.os.repositories.OSRepository;
+import br.ufpb.os.repositories.TecnicoRepository;
+import br.ufpb.os.services.TecnicoLoadService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+@ExtendWith(SpringExtension.class)
+public class TecnicoLoadServiceTest {
+
+    @InjectMocks
+    private TecnicoLoadService loadService;
+
+    @Mock
+    private TecnicoRepository tecnicoRepositoryMock;
+
+    @Mock
+    private OSRepository osRepositoryMock;
+
+    @BeforeEach
+    void setUp() {
+        BDDMockito.when(tecnicoRepositoryMock.findAllIds()).thenReturn(List.of(1, 2));
+        BDDMockito.when(osRepositoryMock.countGroupByStatusPrioridadeTecnico()).thenReturn(List.of());
+
+        loadService.init();
+    }
+
+    @Test
+    void assign_PicksLeastLoadedTecnico_WhenSuccessful() {
+        Integer first = loadService.assign(Status.ABERTO, Prioridade.ALTA);
+        Integer second = loadService.assign(Status.ABERTO, Prioridade.BAIXA);
+
+        Assertions.assertThat(first).isEqualTo(1);
+        Assertions.assertThat(second).isEqualTo(2);
+        Assertions.assertThat(loadService.snapshot()).containsEntry(1, 3L).containsEntry(2, 1L);
+    }
+
+    @Test
+    void release_DoesNotReaddTecnico_WhenTecnicoWasRemoved() {
+        Integer assigned = loadService.assign(Status.ABERTO, Prioridade.ALTA);
+
+        loadService.removeTecnico(assigned);
+        loadService.release(assigned, Status.ABERTO, Prioridade.ALTA);
+
+        Assertions.assertThat(loadService.snapshot()).doesNotContainKey(assigned).containsOnlyKeys(2);
+        Assertions.assertThat(loadService.assign(Status.ABERTO, Prioridade.BAIXA)).isEqualTo(2);
+    }
+}
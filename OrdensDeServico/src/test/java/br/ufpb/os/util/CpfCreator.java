@@ -0,0 +1,39 @@
+package br.ufpb.os.util;
+
+public class CpfCreator {
+
+    /*
+     * Gera um CPF válido (dígitos verificadores corretos) a partir de um número base
+     */
+    public static String validCpf(long base) {
+        int[] digits = new int[11];
+        long value = Math.abs(base) % 1_000_000_000L;
+
+        for (int i = 8; i >= 0; i--) {
+            digits[i] = (int) (value % 10);
+            value /= 10;
+        }
+        digits[9] = checkDigit(digits, 9);
+        digits[10] = checkDigit(digits, 10);
+
+        StringBuilder cpf = new StringBuilder();
+        for (int i = 0; i < 11; i++) {
+            cpf.append(digits[i]);
+            if (i == 2 || i == 5) {
+                cpf.append('.');
+            } else if (i == 8) {
+                cpf.append('-');
+            }
+        }
+        return cpf.toString();
+    }
+
+    private static int checkDigit(int[] digits, int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += digits[i] * (length + 1 - i);
+        }
+        int rest = sum % 11;
+        return rest < 2 ? 0 : 11 - rest;
+    }
+}
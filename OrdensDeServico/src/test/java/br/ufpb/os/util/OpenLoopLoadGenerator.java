@@ -0,0 +1,177 @@
+package br.ufpb.os.util;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiFunction;
+
+/*
+ * Gerador de carga em malha aberta: as requisições saem em instantes fixos
+ * (rate por segundo), sem esperar as respostas anteriores. A latência é medida a
+ * partir do instante previsto de envio, não do envio real, para que um servidor
+ * lento não reduza a carga nem esconda a própria demora (coordinated omission).
+ * Cada endpoint tem um peso no sorteio e o seu próprio HdrHistogram
+ */
+public class OpenLoopLoadGenerator {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final URI baseUri;
+    private final int rate;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Random random;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final List<Endpoint> endpoints = new ArrayList<>();
+    private int totalWeight;
+
+    public OpenLoopLoadGenerator(URI baseUri, int rate, Duration warmup, Duration duration, long seed) {
+        this.baseUri = baseUri;
+        this.rate = rate;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.random = new Random(seed);
+    }
+
+    /*
+     * Registra um endpoint; request recebe a URI base e o Random do gerador e monta
+     * a requisição. Só é chamado pela thread que dispara as requisições
+     */
+    public OpenLoopLoadGenerator endpoint(String name, int weight,
+            BiFunction<URI, Random, HttpRequest.Builder> request) {
+        endpoints.add(new Endpoint(name, weight, request));
+        totalWeight += weight;
+        return this;
+    }
+
+    public Report run() throws InterruptedException {
+        long period = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        Phaser inFlight = new Phaser(1);
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * period;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Endpoint endpoint = pick();
+            HttpRequest request = endpoint.request.apply(baseUri, random).timeout(Duration.ofSeconds(30)).build();
+            boolean measured = intended >= measureFrom;
+
+            inFlight.register();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                if (measured) {
+                    endpoint.record(intended, error == null && response.statusCode() < 400);
+                }
+                inFlight.arriveAndDeregister();
+            });
+        }
+
+        try {
+            inFlight.awaitAdvanceInterruptibly(inFlight.arrive(), 1, TimeUnit.MINUTES);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Requisições sem resposta após 1 minuto", e);
+        }
+        return new Report(rate, duration, endpoints);
+    }
+
+    private Endpoint pick() {
+        int value = random.nextInt(totalWeight);
+        for (Endpoint endpoint : endpoints) {
+            value -= endpoint.weight;
+            if (value < 0) {
+                return endpoint;
+            }
+        }
+        throw new IllegalStateException("Nenhum endpoint registrado");
+    }
+
+    private static final class Endpoint {
+
+        private final String name;
+        private final int weight;
+        private final BiFunction<URI, Random, HttpRequest.Builder> request;
+        private final Histogram histogram = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        private final AtomicLong errors = new AtomicLong();
+
+        private Endpoint(String name, int weight, BiFunction<URI, Random, HttpRequest.Builder> request) {
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+        }
+
+        private void record(long intended, boolean success) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+            histogram.recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+            if (!success) {
+                errors.incrementAndGet();
+            }
+        }
+    }
+
+    /*
+     * Resultado por endpoint, em milissegundos, pronto para ser gravado em JSON
+     */
+    public static class Report {
+
+        private final int rate;
+        private final long durationSeconds;
+        private final Map<String, Map<String, Object>> endpoints = new LinkedHashMap<>();
+
+        private Report(int rate, Duration duration, List<Endpoint> list) {
+            this.rate = rate;
+            this.durationSeconds = duration.getSeconds();
+            for (Endpoint endpoint : list) {
+                Histogram h = endpoint.histogram;
+                Map<String, Object> stats = new LinkedHashMap<>();
+                stats.put("requests", h.getTotalCount());
+                stats.put("errors", endpoint.errors.get());
+                stats.put("throughput", (double) h.getTotalCount() / durationSeconds);
+                stats.put("p50", millis(h.getValueAtPercentile(50)));
+                stats.put("p90", millis(h.getValueAtPercentile(90)));
+                stats.put("p99", millis(h.getValueAtPercentile(99)));
+                stats.put("p999", millis(h.getValueAtPercentile(99.9)));
+                stats.put("max", millis(h.getMaxValue()));
+                endpoints.put(endpoint.name, stats);
+            }
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+
+        public int getRate() {
+            return rate;
+        }
+
+        public long getDurationSeconds() {
+            return durationSeconds;
+        }
+
+        public Map<String, Map<String, Object>> getEndpoints() {
+            return endpoints;
+        }
+    }
+}